@@ -0,0 +1,65 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [ItemRepository 기본 연산]
+*  ./gradlew jmh -PjmhIncludes=ItemRepositoryBenchmark
+*
+*  - save     : 상품 한 건 저장 (메모리)
+*  - findAll  : 전체 목록 (상품 목록 화면이 페이지 이전에 하던 방식)
+*  - findPage : 첫 페이지 (기본 크기 20)
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemRepositoryBenchmark {
+
+    @Param({"map", "columnar"})
+    String store;
+
+    @Param({"10000"})
+    int items;
+
+    ItemRepository itemRepository;
+    ItemRepository saveRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository = newRepository();
+        for (int i = 0; i < items; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 100000, i % 9999));
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newSaveRepository() {
+        saveRepository = newRepository();
+    }
+
+    @Benchmark
+    public Item save() {
+        return saveRepository.save(new Item("itemA", 10000, 10));
+    }
+
+    @Benchmark
+    public List<Item> findAll() {
+        return itemRepository.findAll();
+    }
+
+    @Benchmark
+    public ItemPage findPage() {
+        return itemRepository.findPage(null, 20);
+    }
+
+    private ItemRepository newRepository() {
+        ItemStore itemStore = "columnar".equals(store) ? new ColumnarItemStore() : new MapItemStore();
+        return new ItemRepository(itemStore, ItemJournal.NONE);
+    }
+}
@@ -0,0 +1,104 @@
+package hello.itemservice.domain.item;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [ItemStore 메모리/GC 비교]
+*  ./gradlew jmh -PjmhIncludes=ItemStoreFootprintBenchmark
+*
+*  - fill     : 상품 N 개를 저장하는 시간
+*  - 리포트    : 저장 후 남은 힙(bytes/item), 저장하는 동안의 GC 횟수와 누적 GC 시간
+*  - indexes  : false 면 ItemStore 에 직접 저장해서 저장소만 잰다.
+*               true 면 ItemRepository 로 저장해서 가격, 수량 보조 인덱스(ItemRangeIndex)까지 함께 잰다.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ItemStoreFootprintBenchmark {
+
+    @Param({"map", "columnar"})
+    String store;
+
+    @Param({"1000000", "10000000"})
+    int items;
+
+    @Param({"false", "true"})
+    boolean indexes;
+
+    //측정이 끝날 때까지 저장한 상품이 GC 되지 않도록 붙잡아 둔다.
+    Object retained;
+    long baselineHeap;
+    long gcCountBefore;
+    long gcTimeBefore;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        retained = null;
+        baselineHeap = usedHeapAfterGc();
+        gcCountBefore = gcCount();
+        gcTimeBefore = gcTime();
+    }
+
+    @Benchmark
+    public Object fill() {
+        ItemStore itemStore = "columnar".equals(store) ? new ColumnarItemStore() : new MapItemStore();
+        if (!indexes) {
+            for (int i = 0; i < items; i++) {
+                Item item = new Item("item" + i, 1000 + i % 100000, i % 9999);
+                item.setId(i + 1L);
+                item.setVersion(1L);
+                itemStore.insert(item, stored -> {
+                });
+            }
+            retained = itemStore;
+            return retained;
+        }
+        ItemRepository itemRepository = new ItemRepository(itemStore, ItemJournal.NONE);
+        for (int i = 0; i < items; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i % 100000, i % 9999));
+        }
+        retained = itemRepository;
+        return retained;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTime() - gcTimeBefore;
+        long retainedHeap = usedHeapAfterGc() - baselineHeap;
+        System.out.printf("%n[%s, %,d items, indexes=%s] bytes/item=%.1f gc.count=%d gc.time=%dms%n",
+                store, items, indexes, (double) retainedHeap / items, gcCount, gcTime);
+        retained = null;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
@@ -0,0 +1,105 @@
+package hello.itemservice.domain.item.log;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+*  [item log 벤치마크]
+*  ./gradlew jmh -PjmhIncludes=ItemLogBenchmark
+*
+*  - save    : fsync 정책별 쓰기 처리량 (8 쓰레드, group commit 효과 확인)
+*  - recover : 1M 상품 로그의 복구 시간
+* */
+public class ItemLogBenchmark {
+
+    private static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({"ALWAYS", "INTERVAL", "NONE"})
+        FsyncPolicy fsync;
+
+        Path directory;
+        ItemLog itemLog;
+        ItemRepository itemRepository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("item-log-write");
+            itemLog = new ItemLog(directory, fsync, SEGMENT_SIZE, Duration.ofMillis(100));
+            itemLog.recover(item -> {
+            });
+            itemRepository = new ItemRepository(itemLog);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            itemLog.close();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+
+        @Param({"1000000"})
+        int items;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("item-log-recovery");
+            ItemLog itemLog = new ItemLog(directory, FsyncPolicy.NONE, SEGMENT_SIZE, Duration.ofSeconds(1));
+            itemLog.recover(item -> {
+            });
+            ItemRepository itemRepository = new ItemRepository(itemLog);
+            for (int i = 0; i < items; i++) {
+                itemRepository.save(new Item("item" + i, 1000 + i % 1000, i % 9999));
+            }
+            itemLog.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(8)
+    public Item save(WriteState state) {
+        return state.itemRepository.save(new Item("item", 10000, 10));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public ItemRepository recover(RecoveryState state) throws IOException {
+        ItemLog itemLog = new ItemLog(state.directory, FsyncPolicy.NONE, SEGMENT_SIZE, Duration.ofSeconds(1));
+        ItemRepository itemRepository = new ItemRepository(itemLog);
+        itemLog.recover(itemRepository::restore);
+        itemLog.close();
+        return itemRepository;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
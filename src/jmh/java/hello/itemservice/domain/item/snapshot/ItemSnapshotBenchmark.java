@@ -0,0 +1,73 @@
+package hello.itemservice.domain.item.snapshot;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [상품 스냅샷 벤치마크]
+*  ./gradlew jmh -PjmhIncludes=ItemSnapshotBenchmark
+*
+*  - load  : 1M 상품 스냅샷을 빈 저장소에 적재하는 시간 (재시작 후 데이터가 채워질 때까지)
+*  - write : 1M 상품 저장소를 스냅샷 파일로 저장하는 시간
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ItemSnapshotBenchmark {
+
+    @Param({"map", "columnar"})
+    String store;
+
+    @Param({"1000000"})
+    int items;
+
+    Path directory;
+    ItemSnapshotFile snapshotFile;
+    ItemRepository source;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("item-snapshot");
+        snapshotFile = new ItemSnapshotFile(directory.resolve("items.snapshot"));
+        source = new ItemRepository(newStore(), ItemJournal.NONE);
+        for (int i = 0; i < items; i++) {
+            source.save(new Item("item" + i, 1000 + i % 100000, i % 9999));
+        }
+        snapshotFile.write(source);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("items.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public ItemRepository load() throws IOException {
+        ItemRepository itemRepository = new ItemRepository(newStore(), ItemJournal.NONE);
+        snapshotFile.load(itemRepository);
+        return itemRepository;
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        return snapshotFile.write(source);
+    }
+
+    private ItemStore newStore() {
+        return "columnar".equals(store) ? new ColumnarItemStore() : new MapItemStore();
+    }
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.message;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [MessageSource 경합 비교]
+*  ./gradlew jmh -PjmhIncludes=MessageSourceContentionBenchmark
+*
+*  16 쓰레드가 같은 오류 메시지를 동시에 렌더링한다. (오류 페이지가 몰리는 상황)
+*  - resourceBundle : ResourceBundleMessageSource (MessageFormat 에 synchronized)
+*  - precompiled    : PrecompiledMessageSource
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageSourceContentionBenchmark {
+
+    @Param({"resourceBundle", "precompiled"})
+    String source;
+
+    MessageSource messageSource;
+
+    //th:errors 가 FieldError 를 렌더링하는 것과 같은 형태 (메시지 코드 4개, 필드명 인자 + 범위 인자)
+    DefaultMessageSourceResolvable rangeError = new DefaultMessageSourceResolvable(
+            new String[]{"Range.item.price", "Range.price", "Range.java.lang.Integer", "Range"},
+            new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000L, 1000L},
+            "1000에서 1000000 사이여야 합니다");
+    Object[] rangeArgs = {1000, 1000000};
+
+    @Setup
+    public void setUp() {
+        if ("precompiled".equals(source)) {
+            messageSource = new PrecompiledMessageSource(List.of("messages", "errors"), UTF_8, true, false, false);
+        } else {
+            ResourceBundleMessageSource resourceBundle = new ResourceBundleMessageSource();
+            resourceBundle.setBasenames("messages", "errors");
+            resourceBundle.setDefaultEncoding("UTF-8");
+            messageSource = resourceBundle;
+        }
+    }
+
+    @Benchmark
+    public String fieldError() {
+        return messageSource.getMessage(rangeError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String code() {
+        return messageSource.getMessage("range.item.price", rangeArgs, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String label() {
+        return messageSource.getMessage("label.item.price", null, Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [폼 검증 비교]
+*  ./gradlew jmh -PjmhIncludes=ItemFormValidationBenchmark
+*  gc 프로파일러로 검증 한 번당 할당량(gc.alloc.rate.norm)도 함께 본다.
+*
+*  - stock    : Hibernate Validator (스프링 기본 경로, CrossFieldValidatorAdapter)
+*  - compiled : CompiledBeanValidator
+*  - valid    : 오류 없음 / invalid : 세 필드 모두 오류
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemFormValidationBenchmark {
+
+    @Param({"stock", "compiled"})
+    String validator;
+
+    @Param({"valid", "invalid"})
+    String form;
+
+    LocalValidatorFactoryBean validatorFactory;
+    SmartValidator target;
+    ItemSaveForm itemSaveForm;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        CrossFieldValidatorAdapter stock = new CrossFieldValidatorAdapter(validatorFactory);
+        target = "compiled".equals(validator) ? new CompiledBeanValidator(validatorFactory, stock) : stock;
+
+        itemSaveForm = new ItemSaveForm();
+        if ("valid".equals(form)) {
+            itemSaveForm.setItemName("itemA");
+            itemSaveForm.setPrice(10000);
+            itemSaveForm.setQuantity(10);
+        } else {
+            itemSaveForm.setItemName(" ");
+            itemSaveForm.setPrice(0);
+            itemSaveForm.setQuantity(10000);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.destroy();
+    }
+
+    @Benchmark
+    public BindingResult validate() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(itemSaveForm, "item");
+        target.validate(itemSaveForm, bindingResult);
+        return bindingResult;
+    }
+}
@@ -0,0 +1,183 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.CompiledBeanValidator;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [검증 방식별 비용 - V1 ~ V4]
+*  ./gradlew jmh -PjmhIncludes=ValidationStrategyBenchmark
+*  (gc 프로파일러가 기본으로 켜져 있어 ops/s 와 함께 gc.alloc.rate.norm(요청당 할당 바이트)이 나온다)
+*
+*  스프링 MVC 가 @ModelAttribute 를 처리하는 순서 그대로 실행한다.
+*  요청 파라미터 바인딩(WebDataBinder) -> 검증기 실행(글로벌 룰 totalPriceMin 포함) -> 컨트롤러 메서드(저장)
+*
+*  - v1 : 컨트롤러에서 직접 검증, 오류는 Map<String, String>
+*  - v2 : ItemValidator (@InitBinder 로 등록)
+*  - v3 : Item 의 Bean Validation (SaveCheck 그룹)
+*  - v4 : ItemSaveForm 의 Bean Validation
+*
+*  - input      : valid(저장) / invalid(필드 오류 3개) / totalPriceMin(글로벌 오류만)
+*  - validator  : stock(Hibernate Validator) / compiled(CompiledBeanValidator)
+*  - addItemAndRender : 오류가 있으면 th:errors 처럼 MessageSource 로 메시지까지 만든다.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidationStrategyBenchmark {
+
+    @Param({"v1", "v2", "v3", "v4"})
+    String strategy;
+
+    @Param({"valid", "invalid", "totalPriceMin"})
+    String input;
+
+    @Param({"stock", "compiled"})
+    String validator;
+
+    ItemRepository itemRepository;
+    ValidationItemControllerV1 controllerV1;
+    ValidationItemControllerV2 controllerV2;
+    ValidationItemControllerV3 controllerV3;
+    ValidationItemControllerV4 controllerV4;
+    ItemValidator itemValidator;
+
+    LocalValidatorFactoryBean validatorFactory;
+    SmartValidator beanValidator;
+    PrecompiledMessageSource messageSource;
+    CachingMessageCodesResolver messageCodesResolver;
+    MutablePropertyValues params;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        itemRepository = new ItemRepository();
+        itemValidator = new ItemValidator();
+        controllerV1 = new ValidationItemControllerV1(itemRepository);
+        controllerV2 = new ValidationItemControllerV2(itemRepository, itemValidator);
+        controllerV3 = new ValidationItemControllerV3(itemRepository);
+        controllerV4 = new ValidationItemControllerV4(itemRepository);
+
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        CrossFieldValidatorAdapter stockValidator = new CrossFieldValidatorAdapter(validatorFactory);
+        beanValidator = "compiled".equals(validator)
+                ? new CompiledBeanValidator(validatorFactory, stockValidator) : stockValidator;
+        messageSource = new PrecompiledMessageSource(List.of("messages", "errors"), UTF_8, true, false, false);
+        messageCodesResolver = new CachingMessageCodesResolver(messageSource);
+
+        params = new MutablePropertyValues();
+        if ("valid".equals(input)) {
+            params.add("itemName", "itemA").add("price", "10000").add("quantity", "10");
+        } else if ("invalid".equals(input)) {
+            params.add("itemName", " ").add("price", "0").add("quantity", "10000");
+        } else {
+            params.add("itemName", "itemA").add("price", "1000").add("quantity", "1");
+        }
+    }
+
+    //저장된 상품이 계속 쌓이지 않도록 측정 구간마다 비운다.
+    @Setup(Level.Iteration)
+    public void clearStore() {
+        itemRepository.clearStore();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.destroy();
+        messageSource.close();
+    }
+
+    @Benchmark
+    public String addItem(Blackhole blackhole) {
+        return handle(blackhole, false);
+    }
+
+    @Benchmark
+    public String addItemAndRender(Blackhole blackhole) {
+        return handle(blackhole, true);
+    }
+
+    private String handle(Blackhole blackhole, boolean render) {
+        RedirectAttributesModelMap redirectAttributes = new RedirectAttributesModelMap();
+        switch (strategy) {
+            case "v1": {
+                WebDataBinder binder = binder(new Item());
+                binder.bind(params);
+                ExtendedModelMap model = new ExtendedModelMap();
+                String view = controllerV1.addItem((Item) binder.getTarget(), redirectAttributes, model);
+                //v1 은 메시지를 컨트롤러에서 직접 만든다.
+                blackhole.consume(model);
+                return view;
+            }
+            case "v2": {
+                WebDataBinder binder = binder(new Item());
+                binder.addValidators(itemValidator);
+                binder.bind(params);
+                binder.validate();
+                BindingResult bindingResult = binder.getBindingResult();
+                String view = controllerV2.addItemV6((Item) binder.getTarget(), bindingResult, redirectAttributes, new ExtendedModelMap());
+                render(blackhole, bindingResult, render);
+                return view;
+            }
+            case "v3": {
+                WebDataBinder binder = binder(new Item());
+                binder.bind(params);
+                binder.validate(SaveCheck.class);
+                BindingResult bindingResult = binder.getBindingResult();
+                String view = controllerV3.addItem2((Item) binder.getTarget(), bindingResult, redirectAttributes);
+                render(blackhole, bindingResult, render);
+                return view;
+            }
+            default: {
+                WebDataBinder binder = binder(new ItemSaveForm());
+                binder.bind(params);
+                binder.validate();
+                BindingResult bindingResult = binder.getBindingResult();
+                String view = controllerV4.addItem((ItemSaveForm) binder.getTarget(), bindingResult, redirectAttributes);
+                render(blackhole, bindingResult, render);
+                return view;
+            }
+        }
+    }
+
+    //MVC 의 ConfigurableWebBindingInitializer 와 같이 글로벌 검증기와 메시지 코드 리졸버를 설정한다.
+    private WebDataBinder binder(Object target) {
+        WebDataBinder binder = new WebDataBinder(target, "item");
+        binder.setMessageCodesResolver(messageCodesResolver);
+        binder.setValidator(beanValidator);
+        return binder;
+    }
+
+    private void render(Blackhole blackhole, BindingResult bindingResult, boolean render) {
+        if (!render) {
+            return;
+        }
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            blackhole.consume(messageSource.getMessage(error, Locale.KOREA));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package hello.itemservice.web.validation.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [상품 API 형식 - JSON, CBOR, Smile 파싱, 생성 시간과 크기]
+*  ./gradlew jmh -PjmhIncludes=ItemApiCodecBenchmark
+*
+*  - readForm  : 상품 등록 요청 본문(ItemSaveForm) 하나를 읽는 시간
+*  - writePage : 상품 목록 API 응답(ItemPage, 상품 100개)을 만드는 시간
+*
+*  세 ObjectMapper 는 WebConfig 와 같이 스프링 부트의 Jackson 설정으로 만든다.
+*  본문 크기(bytes)는 측정이 끝나면 출력한다.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemApiCodecBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    ObjectMapper objectMapper;
+    ObjectReader formReader;
+    ObjectWriter pageWriter;
+    byte[] form;
+    ItemPage page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ItemApiCodecs codecs = new ItemApiCodecs(Jackson2ObjectMapperBuilder.json().build(),
+                Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(),
+                Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        objectMapper = "cbor".equals(format) ? codecs.getCbor()
+                : "smile".equals(format) ? codecs.getSmile() : codecs.getJson();
+        formReader = objectMapper.readerFor(ItemSaveForm.class);
+        pageWriter = objectMapper.writerFor(ItemPage.class);
+
+        ItemSaveForm saveForm = new ItemSaveForm();
+        saveForm.setItemName("itemA");
+        saveForm.setPrice(10000);
+        saveForm.setQuantity(10);
+        form = objectMapper.writeValueAsBytes(saveForm);
+
+        ItemRepository itemRepository = new ItemRepository();
+        for (int i = 1; i <= 100; i++) {
+            itemRepository.save(new Item("item" + i, 1000 * i, i));
+        }
+        page = itemRepository.findPage(null, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n[%s] form bytes=%d, page(100) bytes=%d%n", format, form.length, writePage().length);
+    }
+
+    @Benchmark
+    public ItemSaveForm readForm() throws IOException {
+        return formReader.readValue(form);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+}
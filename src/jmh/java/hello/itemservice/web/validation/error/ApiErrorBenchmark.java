@@ -0,0 +1,87 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.config.ValidationProperties;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.CompiledBeanValidator;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [API 검증 오류 응답 - 크기와 직렬화 시간]
+*  ./gradlew jmh -PjmhIncludes=ApiErrorBenchmark
+*
+*  POST /validation/api/items/add 에 필드 오류 3개(공백 이름, 가격 범위, 수량 최대)인 폼이 들어왔을 때 응답 본문을 만드는 비용
+*  - bindingErrors : bindingResult.getAllErrors() 를 그대로 직렬화 (이전 응답)
+*  - code, message, detail : ApiErrors 로 바꿔서 직렬화 (message, detail 은 MessageSource 로 메시지를 만드는 시간 포함)
+*
+*  응답 크기(bytes)는 측정이 끝나면 출력한다. gc 프로파일러의 gc.alloc.rate.norm 이 요청당 할당 바이트다.
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApiErrorBenchmark {
+
+    @Param({"bindingErrors", "code", "message", "detail"})
+    String payload;
+
+    LocalValidatorFactoryBean validatorFactory;
+    PrecompiledMessageSource messageSource;
+    ApiErrors apiErrors;
+    ObjectMapper objectMapper;
+    BindingResult bindingResult;
+    ApiErrorVerbosity verbosity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.afterPropertiesSet();
+        messageSource = new PrecompiledMessageSource(List.of("messages", "errors"), UTF_8, true, false, false);
+        apiErrors = new ApiErrors(messageSource, new ValidationProperties());
+        //스프링 부트의 기본 ObjectMapper 와 같은 설정
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        //MVC 가 @RequestBody @Validated ItemSaveForm 을 검증하는 것과 같은 검증기, 메시지 코드 리졸버
+        WebDataBinder binder = new WebDataBinder(new ItemSaveForm(), "itemSaveForm");
+        binder.setMessageCodesResolver(new CachingMessageCodesResolver(messageSource));
+        binder.setValidator(new CompiledBeanValidator(validatorFactory, new CrossFieldValidatorAdapter(validatorFactory)));
+        binder.bind(new MutablePropertyValues()
+                .add("itemName", " ").add("price", "0").add("quantity", "10000"));
+        binder.validate();
+        bindingResult = binder.getBindingResult();
+
+        verbosity = "bindingErrors".equals(payload) ? null : ApiErrorVerbosity.valueOf(payload.toUpperCase(Locale.ROOT));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n[%s] errors=%d bytes=%d%n", payload, bindingResult.getErrorCount(), serialize().length);
+        validatorFactory.destroy();
+        messageSource.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (verbosity == null) {
+            return objectMapper.writeValueAsBytes(bindingResult.getAllErrors());
+        }
+        return objectMapper.writeValueAsBytes(apiErrors.of(bindingResult, Locale.KOREA, verbosity));
+    }
+}
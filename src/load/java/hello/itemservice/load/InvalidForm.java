@@ -0,0 +1,31 @@
+package hello.itemservice.load;
+
+/**
+ * 검증에 걸리도록 만든 폼의 종류. (ItemSaveForm, ItemUpdateForm 의 제약 기준)
+ */
+enum InvalidForm {
+
+    BLANK_NAME("blank-name"),           //@NotBlank itemName
+    PRICE_RANGE("price-range"),         //@Range(min = 1000, max = 1000000) price
+    TOTAL_PRICE_MIN("total-price-min"); //@TotalPriceMin (가격 * 수량 >= 10000)
+
+    private final String label;
+
+    InvalidForm(String label) {
+        this.label = label;
+    }
+
+    static InvalidForm of(String label) {
+        for (InvalidForm form : values()) {
+            if (form.label.equals(label)) {
+                return form;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 폼 종류입니다. invalid-form=" + label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,300 @@
+package hello.itemservice.load;
+
+import hello.itemservice.load.LatencyReport.Outcome;
+import hello.itemservice.load.LatencyReport.Stats;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [상품 화면 부하 생성기]
+*  ./gradlew bootRun
+*  ./gradlew loadGenerator -PloadArgs="--rate=500 --duration=60s --mix=list:50,view:20,add:20,edit:10"
+*
+*  실행 중인 애플리케이션의 /validation/v1 ~ v4/items 와 /validation/api/items/add 에 같은 부하를 버전마다 차례로 건다.
+*  결과는 표준 출력과 report-dir(report.txt, 버전-작업.hgrm)에 남는다. 옵션은 LoadOptions 참고
+*
+*  - 열린 루프(open loop) : 요청은 응답을 기다리지 않고 정해진 도착률(rate)로 예정 시각마다 보낸다.
+*    닫힌 루프(응답을 받아야 다음 요청)는 서버가 느려지면 요청도 덜 보내서 지연 시간을 실제보다 좋게 기록한다. (coordinated omission)
+*  - 지연 시간은 예정 시각부터 재므로, 서버나 부하 생성기가 밀리면 밀린 시간까지 기록된다. (LatencyReport 참고)
+*  - 수정(edit) 대상은 시작할 때 v4 로 등록한 seed-items 개의 상품이고, 클라이언트가 버전을 따라가며 version 필드를 채운다.
+*    v4 는 같은 상품을 동시에 수정하면 한쪽이 버전 충돌(rejected)이 된다.
+*
+*  등록된 상품은 버전 사이에 지우지 않는다. (뒤에 측정하는 버전일수록 저장소가 조금 더 크다)
+* */
+public class ItemLoadGenerator {
+
+    private static final Pattern ITEM_LOCATION = Pattern.compile("/items/(\\d+)");
+
+    private final LoadOptions options;
+    private final HttpClient client;
+    private final LatencyReport report = new LatencyReport();
+    private final Random random = new Random();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong itemSequence = new AtomicLong();
+
+    //수정 대상 상품 ID 와 클라이언트가 알고 있는 현재 버전
+    private final List<Long> seededIds = new ArrayList<>();
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    private final Operation[] operations;
+    private final int[] operationWeights;
+    private final InvalidForm[] invalidForms;
+    private final int[] invalidFormWeights;
+
+    ItemLoadGenerator(LoadOptions options) {
+        this.options = options;
+        ExecutorService executor = Executors.newFixedThreadPool(options.clientThreads, runnable -> {
+            Thread thread = new Thread(runnable, "load-client");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(options.timeout)
+                .executor(executor)
+                .build();
+        this.operations = options.mix.keySet().toArray(new Operation[0]);
+        this.operationWeights = cumulative(options.mix.values());
+        this.invalidForms = options.invalidMix.keySet().toArray(new InvalidForm[0]);
+        this.invalidFormWeights = cumulative(options.invalidMix.values());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ItemLoadGenerator generator = new ItemLoadGenerator(options);
+        System.out.println("부하 생성 " + options);
+
+        generator.seed();
+        for (String version : options.versions) {
+            System.out.printf("[%s] 워밍업 %ds%n", version, options.warmup.getSeconds());
+            generator.run(version, options.warmup.toNanos(), null);
+            System.out.printf("[%s] 측정 %ds%n", version, options.duration.getSeconds());
+            generator.run(version, options.duration.toNanos(), generator.report.version(version));
+        }
+
+        generator.report.print(System.out, options);
+        generator.report.write(Paths.get(options.reportDir), options);
+        System.out.println();
+        System.out.println("리포트 : " + Paths.get(options.reportDir).toAbsolutePath().resolve("report.txt"));
+    }
+
+    /**
+     * 수정, 상세 조회 대상 상품을 v4 로 등록한다. 리다이렉트 Location 에서 상품 ID 를 읽는다.
+     */
+    void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < options.seedItems; i++) {
+            HttpResponse<Void> response = client.send(post("/validation/v4/items/add", form(null)),
+                    HttpResponse.BodyHandlers.discarding());
+            String location = response.headers().firstValue("Location").orElse("");
+            Matcher matcher = ITEM_LOCATION.matcher(location);
+            if (response.statusCode() != 302 || !matcher.find()) {
+                throw new IllegalStateException("상품 등록에 실패했습니다. status=" + response.statusCode() + ", location=" + location);
+            }
+            long itemId = Long.parseLong(matcher.group(1));
+            seededIds.add(itemId);
+            versions.put(itemId, new AtomicLong(1));
+        }
+        System.out.println("상품 " + options.seedItems + " 개 등록");
+    }
+
+    /**
+     * durationNanos 동안 예정 시각마다 요청을 보내고, 보낸 요청이 모두 끝날 때까지 기다린다. stats 가 null 이면 기록하지 않는다. (워밍업)
+     */
+    void run(String version, long durationNanos, Map<Operation, Stats> stats) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long intended = start;
+        while (intended < end) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            //밀렸으면 기다리지 않고 바로 보낸다. 예정 시각은 그대로 두므로 밀린 시간도 응답 시간에 들어간다.
+            send(version, pick(operations, operationWeights), intended, stats);
+            intended += nextInterval();
+        }
+
+        long deadline = System.nanoTime() + options.timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void send(String version, Operation operation, long intended, Map<Operation, Stats> stats) {
+        if (inFlight.incrementAndGet() > options.maxInFlight) {
+            inFlight.decrementAndGet();
+            if (stats != null) {
+                report.dropped(version);
+            }
+            return;
+        }
+
+        long itemId = seededIds.get(random.nextInt(seededIds.size()));
+        long sentVersion = versions.get(itemId).get();
+        HttpRequest request = request(version, operation, itemId, sentVersion);
+        long sent = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> future = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        future.whenComplete((response, error) -> {
+            long completed = System.nanoTime();
+            inFlight.decrementAndGet();
+            Outcome outcome = error != null ? Outcome.FAILED : classify(operation, response);
+            //수정이 반영되면(리다이렉트) 저장소의 버전이 하나 올라간다.
+            if (operation == Operation.EDIT && outcome == Outcome.ACCEPTED) {
+                versions.get(itemId).incrementAndGet();
+            }
+            if (stats != null) {
+                stats.get(operation).record(intended, sent, completed, outcome);
+            }
+        });
+    }
+
+    private HttpRequest request(String version, Operation operation, long itemId, long itemVersion) {
+        String base = "/validation/" + version + "/items";
+        switch (operation) {
+            case LIST:
+                return get(base);
+            case VIEW:
+                return get(base + "/" + itemId);
+            case ADD:
+                return post(base + "/add", form(nextInvalid()));
+            case EDIT:
+                return post(base + "/" + itemId + "/edit", form(nextInvalid())
+                        + "&id=" + itemId + "&version=" + itemVersion);
+            case API_ADD:
+                return HttpRequest.newBuilder(uri("/validation/api/items/add"))
+                        .timeout(options.timeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json(nextInvalid())))
+                        .build();
+            default:
+                throw new IllegalArgumentException("operation=" + operation);
+        }
+    }
+
+    private static Outcome classify(Operation operation, HttpResponse<String> response) {
+        int status = response.statusCode();
+        switch (operation) {
+            case ADD:
+            case EDIT:
+                //성공하면 상세 화면으로 리다이렉트, 검증 오류나 버전 충돌이면 폼을 다시 보여준다.
+                if (status == 302 || status == 303) {
+                    return Outcome.ACCEPTED;
+                }
+                return status == 200 ? Outcome.REJECTED : Outcome.FAILED;
+            case API_ADD:
+                //오류 목록(JSON 배열) 또는 fail-fast 400 이면 검증 오류
+                if (status == 200) {
+                    return response.body().startsWith("[") ? Outcome.REJECTED : Outcome.ACCEPTED;
+                }
+                return status == 400 ? Outcome.REJECTED : Outcome.FAILED;
+            default:
+                return status == 200 ? Outcome.ACCEPTED : Outcome.FAILED;
+        }
+    }
+
+    //invalid 비율만큼 검증에 걸리는 폼을 섞는다.
+    private InvalidForm nextInvalid() {
+        return random.nextDouble() < options.invalidRatio ? pick(invalidForms, invalidFormWeights) : null;
+    }
+
+    private String form(InvalidForm invalid) {
+        String[] fields = fields(invalid);
+        return "itemName=" + URLEncoder.encode(fields[0], UTF_8) + "&price=" + fields[1] + "&quantity=" + fields[2];
+    }
+
+    private String json(InvalidForm invalid) {
+        String[] fields = fields(invalid);
+        return "{\"itemName\":\"" + fields[0] + "\",\"price\":" + fields[1] + ",\"quantity\":" + fields[2] + "}";
+    }
+
+    //{itemName, price, quantity}
+    private String[] fields(InvalidForm invalid) {
+        String itemName = "load-item-" + itemSequence.incrementAndGet();
+        int price = 1000 + random.nextInt(100) * 1000;
+        //가격 * 수량 >= 10000 이 되도록 수량을 고른다.
+        int quantity = Math.max(10000 / price + 1, 1 + random.nextInt(100));
+        if (invalid != null) {
+            switch (invalid) {
+                case BLANK_NAME:
+                    itemName = "";
+                    break;
+                case PRICE_RANGE:
+                    price = random.nextBoolean() ? 100 : 2000000;
+                    break;
+                case TOTAL_PRICE_MIN:
+                    price = 1000;
+                    quantity = 1 + random.nextInt(9);
+                    break;
+            }
+        }
+        return new String[]{itemName, String.valueOf(price), String.valueOf(quantity)};
+    }
+
+    private long nextInterval() {
+        double meanNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        if (!options.poisson) {
+            return (long) meanNanos;
+        }
+        //지수 분포 도착 간격 -> 포아송 도착
+        return (long) (-Math.log(1 - random.nextDouble()) * meanNanos);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(options.timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(options.timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.target + path);
+    }
+
+    private <T> T pick(T[] values, int[] cumulativeWeights) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < values.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return values[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static int[] cumulative(Iterable<Integer> weights) {
+        List<Integer> sums = new ArrayList<>();
+        int sum = 0;
+        for (int weight : weights) {
+            sum += weight;
+            sums.add(sum);
+        }
+        return sums.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
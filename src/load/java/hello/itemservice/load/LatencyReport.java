@@ -0,0 +1,167 @@
+package hello.itemservice.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+*  [지연 시간 리포트]
+*  버전, 작업마다 HdrHistogram 두 개에 마이크로초 단위로 기록한다.
+*
+*  - 응답 시간(response) : 요청을 보냈어야 하는 시각(예정 시각)부터 응답을 받을 때까지. coordinated omission 보정 값
+*  - 서비스 시간(service) : 실제로 요청을 보낸 시각부터 응답을 받을 때까지. 보정하지 않은 값 (비교용)
+*
+*  서버가 멈추면 그동안 보냈어야 할 요청도 예정 시각부터 기다린 것으로 기록되므로 응답 시간의 꼬리(p99, p99.9)가
+*  실제로 사용자가 겪는 지연이다. 두 값의 차이가 크면 부하 생성기나 서버가 도착률을 따라가지 못한 것이다.
+*
+*  결과 분류
+*  - accepted : 등록, 수정 성공 (302 리다이렉트, API 는 폼 JSON) 과 조회 성공 (200)
+*  - rejected : 검증 오류나 버전 충돌로 폼을 다시 보여준 응답 (200 HTML, API 는 오류 목록 JSON)
+*  - failed   : 4xx, 5xx, 타임아웃, 연결 오류
+*  - dropped  : 동시 요청 수가 max-in-flight 를 넘어서 보내지 못한 요청 (있으면 결과를 믿을 수 없다)
+* */
+class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<String, Map<Operation, Stats>> versions = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> dropped = new LinkedHashMap<>();
+
+    synchronized Map<Operation, Stats> version(String version) {
+        dropped.computeIfAbsent(version, v -> new AtomicLong());
+        return versions.computeIfAbsent(version, v -> {
+            Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                stats.put(operation, new Stats());
+            }
+            return stats;
+        });
+    }
+
+    void dropped(String version) {
+        dropped.get(version).incrementAndGet();
+    }
+
+    void print(PrintStream out, LoadOptions options) {
+        out.println();
+        out.println("# 상품 화면 부하 테스트");
+        out.println(options);
+        out.println("응답 시간은 예정 시각 기준 (coordinated omission 보정), service p99 는 실제 전송 시각 기준, 단위 ms");
+
+        for (Map.Entry<String, Map<Operation, Stats>> version : versions.entrySet()) {
+            out.println();
+            out.printf("## %s (dropped=%d)%n", version.getKey(), dropped.get(version.getKey()).get());
+            printHeader(out, "operation");
+            for (Map.Entry<Operation, Stats> entry : version.getValue().entrySet()) {
+                if (entry.getValue().count() > 0) {
+                    printRow(out, entry.getKey().label(), entry.getValue());
+                }
+            }
+            printRow(out, "all", total(version.getValue()));
+        }
+
+        out.println();
+        out.println("## 버전 비교 (전체 작업)");
+        printHeader(out, "version");
+        for (Map.Entry<String, Map<Operation, Stats>> version : versions.entrySet()) {
+            printRow(out, version.getKey(), total(version.getValue()));
+        }
+        for (Operation operation : new Operation[]{Operation.ADD, Operation.EDIT}) {
+            out.println();
+            out.println("## 버전 비교 (" + operation.label() + ")");
+            printHeader(out, "version");
+            for (Map.Entry<String, Map<Operation, Stats>> version : versions.entrySet()) {
+                printRow(out, version.getKey(), version.getValue().get(operation));
+            }
+        }
+    }
+
+    /**
+     * 리포트(report.txt)와 버전, 작업별 응답 시간 분포(.hgrm, HdrHistogram plotter 형식)를 저장한다.
+     */
+    void write(Path directory, LoadOptions options) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("report.txt")), true, StandardCharsets.UTF_8)) {
+            print(out, options);
+        }
+        for (Map.Entry<String, Map<Operation, Stats>> version : versions.entrySet()) {
+            for (Map.Entry<Operation, Stats> entry : version.getValue().entrySet()) {
+                Stats stats = entry.getValue();
+                if (stats.count() == 0) {
+                    continue;
+                }
+                Path file = directory.resolve(version.getKey() + "-" + entry.getKey().label() + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                    stats.response.outputPercentileDistribution(out, MICROS_PER_MILLI);
+                }
+            }
+        }
+    }
+
+    private static Stats total(Map<Operation, Stats> stats) {
+        Stats total = new Stats();
+        for (Stats each : stats.values()) {
+            total.response.add(each.response);
+            total.service.add(each.service);
+            total.accepted.add(each.accepted.sum());
+            total.rejected.add(each.rejected.sum());
+            total.failed.add(each.failed.sum());
+        }
+        return total;
+    }
+
+    private static void printHeader(PrintStream out, String name) {
+        out.printf("%-10s %9s %9s %9s %7s %9s %9s %9s %9s %9s %12s%n", name, "count", "accepted", "rejected", "failed",
+                "p50", "p90", "p99", "p99.9", "max", "service p99");
+    }
+
+    private static void printRow(PrintStream out, String name, Stats stats) {
+        Histogram response = stats.response;
+        out.printf("%-10s %9d %9d %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n", name, stats.count(),
+                stats.accepted.sum(), stats.rejected.sum(), stats.failed.sum(),
+                millis(response, 50), millis(response, 90), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / MICROS_PER_MILLI, millis(stats.service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    static final class Stats {
+
+        //자동으로 범위를 늘리고, 유효 숫자 3 자리(0.1%)로 기록한다.
+        final Histogram response = new ConcurrentHistogram(3);
+        final Histogram service = new ConcurrentHistogram(3);
+        final LongAdder accepted = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        void record(long intendedNanos, long sentNanos, long completedNanos, Outcome outcome) {
+            response.recordValue(Math.max(0, (completedNanos - intendedNanos) / 1000));
+            service.recordValue(Math.max(0, (completedNanos - sentNanos) / 1000));
+            switch (outcome) {
+                case ACCEPTED: accepted.increment(); break;
+                case REJECTED: rejected.increment(); break;
+                default: failed.increment(); break;
+            }
+        }
+
+        long count() {
+            return response.getTotalCount();
+        }
+    }
+
+    enum Outcome {
+        ACCEPTED, REJECTED, FAILED
+    }
+}
@@ -0,0 +1,138 @@
+package hello.itemservice.load;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+*  [부하 생성 옵션]
+*  --이름=값 형태의 인자를 읽는다. 지정하지 않은 옵션은 기본값을 쓴다.
+*
+*  --target=http://localhost:8080          대상 애플리케이션
+*  --versions=v1,v2,v3,v4                  비교할 컨트롤러 버전 (버전마다 같은 부하를 차례로 건다)
+*  --rate=200                              초당 요청 수 (도착률, 응답을 기다리지 않는다)
+*  --arrival=poisson                       도착 간격 (poisson | uniform)
+*  --warmup=10s --duration=30s             버전마다 워밍업, 측정 시간
+*  --mix=list:40,view:30,add:15,edit:10,api-add:5   작업 비율 (읽기:쓰기 = list+view : add+edit+api-add)
+*  --invalid=0.2                           등록, 수정 폼 중 검증에 걸리는 폼의 비율
+*  --invalid-mix=blank-name:1,price-range:1,total-price-min:1   잘못된 폼 종류 비율
+*  --seed-items=1000                       수정, 상세 조회 대상으로 미리 등록할 상품 수
+*  --max-in-flight=5000 --client-threads=8 --timeout=30s
+*  --report-dir=build/reports/load
+* */
+class LoadOptions {
+
+    URI target = URI.create("http://localhost:8080");
+    List<String> versions = Arrays.asList("v1", "v2", "v3", "v4");
+    double rate = 200;
+    boolean poisson = true;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(30);
+    Map<Operation, Integer> mix = parseWeights("list:40,view:30,add:15,edit:10,api-add:5", Operation::of, Operation.class);
+    double invalidRatio = 0.2;
+    Map<InvalidForm, Integer> invalidMix = parseWeights("blank-name:1,price-range:1,total-price-min:1", InvalidForm::of, InvalidForm.class);
+    int seedItems = 1000;
+    int maxInFlight = 5000;
+    int clientThreads = 8;
+    Duration timeout = Duration.ofSeconds(30);
+    String reportDir = "build/reports/load";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--이름=값 형태여야 합니다. arg=" + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadOptions options = new LoadOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "target": options.target = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value); break;
+                case "versions": options.versions = new ArrayList<>(Arrays.asList(value.split(","))); break;
+                case "rate": options.rate = Double.parseDouble(value); break;
+                case "arrival": options.poisson = parseArrival(value); break;
+                case "warmup": options.warmup = parseDuration(value); break;
+                case "duration": options.duration = parseDuration(value); break;
+                case "mix": options.mix = parseWeights(value, Operation::of, Operation.class); break;
+                case "invalid": options.invalidRatio = Double.parseDouble(value); break;
+                case "invalid-mix": options.invalidMix = parseWeights(value, InvalidForm::of, InvalidForm.class); break;
+                case "seed-items": options.seedItems = Integer.parseInt(value); break;
+                case "max-in-flight": options.maxInFlight = Integer.parseInt(value); break;
+                case "client-threads": options.clientThreads = Integer.parseInt(value); break;
+                case "timeout": options.timeout = parseDuration(value); break;
+                case "report-dir": options.reportDir = value; break;
+                default: throw new IllegalArgumentException("알 수 없는 옵션입니다. option=" + entry.getKey());
+            }
+        }
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("rate 는 0 보다 커야 합니다.");
+        }
+        if (options.seedItems < 1) {
+            throw new IllegalArgumentException("seed-items 는 1 이상이어야 합니다.");
+        }
+        if (options.invalidRatio < 0 || options.invalidRatio > 1) {
+            throw new IllegalArgumentException("invalid 는 0 ~ 1 사이여야 합니다.");
+        }
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "target=" + target + ", versions=" + versions + ", rate=" + rate + "/s"
+                + ", arrival=" + (poisson ? "poisson" : "uniform") + ", warmup=" + warmup.getSeconds() + "s"
+                + ", duration=" + duration.getSeconds() + "s" + ", mix=" + mix + ", invalid=" + invalidRatio
+                + ", invalidMix=" + invalidMix + ", seedItems=" + seedItems;
+    }
+
+    private static boolean parseArrival(String value) {
+        if (value.equals("poisson")) {
+            return true;
+        }
+        if (value.equals("uniform")) {
+            return false;
+        }
+        throw new IllegalArgumentException("arrival 은 poisson | uniform 입니다. arrival=" + value);
+    }
+
+    //10s, 500ms, 2m
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's': return Duration.ofSeconds(amount);
+            case 'm': return Duration.ofMinutes(amount);
+            default: throw new IllegalArgumentException("시간은 ms, s, m 단위입니다. value=" + value);
+        }
+    }
+
+    private static <K extends Enum<K>> Map<K, Integer> parseWeights(String value, Function<String, K> key, Class<K> type) {
+        Map<K, Integer> weights = new EnumMap<>(type);
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("이름:비율 형태여야 합니다. value=" + pair);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("비율은 0 이상이어야 합니다. value=" + pair);
+            }
+            weights.put(key.apply(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("비율의 합이 0 입니다. value=" + value);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,43 @@
+package hello.itemservice.load;
+
+/**
+ * 부하 생성기가 보내는 작업. 작업 하나가 요청 하나다.
+ */
+enum Operation {
+
+    LIST("list", false),        //GET  /validation/{version}/items
+    VIEW("view", false),        //GET  /validation/{version}/items/{itemId}
+    ADD("add", true),           //POST /validation/{version}/items/add
+    EDIT("edit", true),         //POST /validation/{version}/items/{itemId}/edit
+    API_ADD("api-add", true);   //POST /validation/api/items/add (버전과 무관한 JSON API)
+
+    private final String label;
+    private final boolean write;
+
+    Operation(String label, boolean write) {
+        this.label = label;
+        this.write = write;
+    }
+
+    String label() {
+        return label;
+    }
+
+    boolean isWrite() {
+        return write;
+    }
+
+    static Operation of(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 작업입니다. operation=" + label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
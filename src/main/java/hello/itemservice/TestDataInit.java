@@ -15,9 +15,13 @@ public class TestDataInit {
 
     /**
      * 테스트용 데이터 추가
+     * 로그나 스냅샷에서 복구된 상품이 있으면(item.store.log.enabled, item.store.snapshot.enabled) 추가하지 않는다.
      */
     @PostConstruct
     public void init() {
+        if (!itemRepository.isEmpty()) {
+            return;
+        }
         itemRepository.save(new Item("itemA", 10000, 10));
         itemRepository.save(new Item("itemB", 20000, 20));
     }
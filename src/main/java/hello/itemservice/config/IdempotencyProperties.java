@@ -0,0 +1,21 @@
+package hello.itemservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+*  [item.idempotency.*]
+*  ttl          : 첫 번째 응답을 보관하는 시간. 이 시간 안에 같은 Idempotency-Key 로 다시 요청하면 보관한 응답을 그대로 돌려준다.
+*  max-entries  : 보관하는 응답 수 상한. 넘으면 가장 오래된 것부터 버린다.
+*  wait-timeout : 같은 키의 요청이 처리중일 때 결과를 기다리는 최대 시간
+* */
+@Data
+@ConfigurationProperties("item.idempotency")
+public class IdempotencyProperties {
+
+    private Duration ttl = Duration.ofHours(24);
+    private int maxEntries = 10000;
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,19 @@
+package hello.itemservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+*  [item.bulk.*]
+*  chunk-size          : 한 번에 검증, 저장하는 상품 수
+*  max-in-flight-chunks : 동시에 처리중일 수 있는 청크 수. 넘으면 요청 본문 읽기를 멈춘다. (메모리 상한)
+*  threads             : 검증, 저장에 사용하는 쓰레드 수
+* */
+@Data
+@ConfigurationProperties("item.bulk")
+public class ItemBulkProperties {
+
+    private int chunkSize = 500;
+    private int maxInFlightChunks = 8;
+    private int threads = Runtime.getRuntime().availableProcessors();
+}
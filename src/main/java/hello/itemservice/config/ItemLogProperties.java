@@ -0,0 +1,24 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.log.FsyncPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/*
+*  [item.store.log.*]
+*  enabled 를 true 로 설정하면 상품을 append-only 로그에 기록하고, 시작할 때 로그를 재생해서 복구한다.
+* */
+@Data
+@ConfigurationProperties("item.store.log")
+public class ItemLogProperties {
+
+    private boolean enabled = false;
+    private String directory = "data/item-log";
+    private FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+    private Duration fsyncInterval = Duration.ofMillis(100);
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private Duration compactionInterval = Duration.ofMinutes(10);
+}
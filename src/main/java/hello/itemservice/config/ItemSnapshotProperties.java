@@ -0,0 +1,21 @@
+package hello.itemservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/*
+*  [item.store.snapshot.*]
+*  enabled 를 true 로 설정하면 종료할 때(그리고 interval 마다) 저장소를 스냅샷 파일로 저장하고, 시작할 때 다시 적재한다.
+*  로그 영속 모드(item.store.log.enabled=true)에서는 로그가 복구를 담당하므로 사용하지 않는다.
+*  interval 이 0 이면 종료할 때만 저장한다.
+* */
+@Data
+@ConfigurationProperties("item.store.snapshot")
+public class ItemSnapshotProperties {
+
+    private boolean enabled = false;
+    private String file = "data/items.snapshot";
+    private Duration interval = Duration.ofMinutes(10);
+}
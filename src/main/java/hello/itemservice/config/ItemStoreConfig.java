@@ -0,0 +1,77 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemStore;
+import hello.itemservice.domain.item.MapItemStore;
+import hello.itemservice.domain.item.log.ItemLog;
+import hello.itemservice.domain.item.snapshot.ItemSnapshotFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/*
+*  [ItemRepository 빈 등록]
+*  ItemRepository 는 저장 방식(map / columnar, 메모리 / 로그 영속)에 따라 조립이 달라지므로 @Repository 대신 여기서 직접 등록한다.
+*  빈이 만들어지는 시점에 복구까지 끝나기 때문에, ItemRepository 를 주입받는 쪽(TestDataInit 등)은 항상 복구된 상태를 본다.
+*  복구는 로그 재생(log) 또는 스냅샷 적재(snapshot) 중 하나로 한다.
+* */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({ItemStoreProperties.class, ItemLogProperties.class, ItemSnapshotProperties.class})
+public class ItemStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "item.store.log", name = "enabled", havingValue = "true")
+    public ItemLog itemLog(ItemLogProperties properties) {
+        return new ItemLog(Paths.get(properties.getDirectory()), properties.getFsync(),
+                properties.getSegmentSize().toBytes(), properties.getFsyncInterval());
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "item.store.snapshot", name = "enabled", havingValue = "true")
+    public ItemSnapshotFile itemSnapshotFile(ItemSnapshotProperties properties) {
+        return new ItemSnapshotFile(Paths.get(properties.getFile()));
+    }
+
+    @Bean
+    public ItemRepository itemRepository(ItemStoreProperties storeProperties,
+                                         ObjectProvider<ItemLog> itemLogProvider,
+                                         ItemLogProperties logProperties,
+                                         ObjectProvider<ItemSnapshotFile> snapshotFileProvider,
+                                         ItemSnapshotProperties snapshotProperties) throws IOException {
+        ItemStore store = storeProperties.getType() == ItemStoreProperties.Type.COLUMNAR
+                ? new ColumnarItemStore() : new MapItemStore();
+
+        ItemLog itemLog = itemLogProvider.getIfAvailable();
+        ItemSnapshotFile snapshotFile = snapshotFileProvider.getIfAvailable();
+        if (itemLog == null) {
+            ItemRepository itemRepository = new ItemRepository(store, ItemJournal.NONE);
+            if (snapshotFile != null) {
+                long start = System.nanoTime();
+                long items = snapshotFile.load(itemRepository);
+                log.info("상품 스냅샷 적재 완료 items={} elapsed={}ms", items, (System.nanoTime() - start) / 1_000_000);
+                snapshotFile.attach(itemRepository, snapshotProperties.getInterval());
+            }
+            return itemRepository;
+        }
+        if (snapshotFile != null) {
+            log.warn("item log 가 켜져 있으면 상품 스냅샷은 사용하지 않습니다. (item.store.snapshot.enabled 무시)");
+        }
+
+        ItemRepository itemRepository = new ItemRepository(store, itemLog);
+        long start = System.nanoTime();
+        long records = itemLog.recover(itemRepository::restore);
+        log.info("item log 복구 완료 records={} elapsed={}ms", records, (System.nanoTime() - start) / 1_000_000);
+
+        itemLog.scheduleCompaction(logProperties.getCompactionInterval(), itemRepository::forEach);
+        return itemRepository;
+    }
+}
@@ -0,0 +1,21 @@
+package hello.itemservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+*  [item.store.*]
+*  type : 상품 저장 방식
+*  - map      : 상품 객체를 그대로 보관 (기본)
+*  - columnar : 필드별 원시 타입 배열에 보관, 상품이 많을 때 메모리와 GC 부담이 작다.
+* */
+@Data
+@ConfigurationProperties("item.store")
+public class ItemStoreProperties {
+
+    private Type type = Type.MAP;
+
+    public enum Type {
+        MAP, COLUMNAR
+    }
+}
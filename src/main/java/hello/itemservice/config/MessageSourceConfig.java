@@ -0,0 +1,41 @@
+package hello.itemservice.config;
+
+import hello.itemservice.message.PrecompiledMessageSource;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+
+/*
+*  [messageSource 빈 등록]
+*  "messageSource" 이름으로 빈을 등록하면 스프링 부트의 MessageSourceAutoConfiguration(ResourceBundleMessageSource)은 등록되지 않는다.
+*  설정은 기존과 같이 spring.messages.* 를 사용한다.
+*  - basename             : messages,errors
+*  - cache-duration       : 메시지 파일 변경을 확인하는 주기 (없으면 다시 읽지 않는다)
+* */
+@Configuration
+public class MessageSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean(destroyMethod = "close")
+    public PrecompiledMessageSource messageSource(MessageSourceProperties properties) {
+        String[] basenames = StringUtils.commaDelimitedListToStringArray(
+                StringUtils.trimAllWhitespace(properties.getBasename()));
+
+        PrecompiledMessageSource messageSource = new PrecompiledMessageSource(Arrays.asList(basenames),
+                properties.getEncoding(), properties.isFallbackToSystemLocale(),
+                properties.isAlwaysUseMessageFormat(), properties.isUseCodeAsDefaultMessage());
+        if (properties.getCacheDuration() != null) {
+            messageSource.startReloading(properties.getCacheDuration());
+        }
+        return messageSource;
+    }
+}
@@ -0,0 +1,66 @@
+package hello.itemservice.config;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import hello.itemservice.web.validation.error.ApiErrors;
+import hello.itemservice.web.validation.reactive.ReactiveItemApiHandler;
+import hello.itemservice.web.validation.reactive.ReactiveItemApiServer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+*  [논블로킹 상품 API]
+*  애플리케이션은 서블릿(Tomcat) 기반이므로 WebFlux 자동 설정은 동작하지 않는다.
+*  대신 같은 /validation/api/items 계약의 함수형 라우터를 Reactor Netty 서버에 직접 올려서 별도 포트로 연다.
+*  검증기, 메시지 코드, 검증 오류 응답(ApiErrors), ObjectMapper(JSON, CBOR, Smile) 는 MVC 와 같은 빈을 사용하므로 응답 형식이 같다.
+* */
+@Configuration
+@ConditionalOnProperty(prefix = "item.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveItemApiProperties.class)
+public class ReactiveItemApiConfig {
+
+    @Bean
+    public ReactiveItemApiServer reactiveItemApiServer(ReactiveItemApiProperties properties,
+                                                       ItemRepository itemRepository,
+                                                       @Qualifier("mvcValidator") Validator validator,
+                                                       CachingMessageCodesResolver messageCodesResolver,
+                                                       ApiErrors apiErrors,
+                                                       ItemApiCodecs itemApiCodecs,
+                                                       @Value("${item.page.size:20}") int defaultPageSize) {
+        Scheduler worker = Schedulers.newParallel("item-api-worker", Math.max(1, properties.getWorkerThreads()), true);
+        ReactiveItemApiHandler handler = new ReactiveItemApiHandler(
+                itemRepository, validator, messageCodesResolver, apiErrors, worker, defaultPageSize);
+
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(itemApiCodecs.getJson()));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(itemApiCodecs.getJson()));
+                    codecs.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(itemApiCodecs.getSmile()));
+                    codecs.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(itemApiCodecs.getSmile()));
+                    //CBOR 은 기본 코덱에 없어서 따로 등록한다. (Mono 본문만 인코딩할 수 있다 -> 내보내기는 NDJSON)
+                    codecs.customCodecs().register(new Jackson2CborEncoder(itemApiCodecs.getCbor()));
+                    codecs.customCodecs().register(new Jackson2CborDecoder(itemApiCodecs.getCbor()));
+                    codecs.defaultCodecs().maxInMemorySize((int) properties.getMaxInMemorySize().toBytes());
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+        return new ReactiveItemApiServer(httpHandler, properties.getPort(), worker);
+    }
+}
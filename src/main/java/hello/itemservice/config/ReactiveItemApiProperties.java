@@ -0,0 +1,22 @@
+package hello.itemservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/*
+*  [item.reactive.*]
+*  enabled           : 논블로킹 상품 API 서버(Reactor Netty)를 함께 띄운다.
+*  port              : 논블로킹 API 포트 (0 이면 빈 포트)
+*  worker-threads    : 검증을 실행하는 쓰레드 수 (이벤트 루프에서는 검증하지 않는다)
+*  max-in-memory-size: 요청 본문 최대 크기
+* */
+@Data
+@ConfigurationProperties("item.reactive")
+public class ReactiveItemApiProperties {
+
+    private boolean enabled = false;
+    private int port = 8081;
+    private int workerThreads = Runtime.getRuntime().availableProcessors();
+    private DataSize maxInMemorySize = DataSize.ofKilobytes(256);
+}
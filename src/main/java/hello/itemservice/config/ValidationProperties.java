@@ -0,0 +1,51 @@
+package hello.itemservice.config;
+
+import hello.itemservice.web.validation.error.ApiErrorVerbosity;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+*  [validation.*]
+*  compiled : 폼 검증에 미리 컴파일한 검증기(CompiledBeanValidator)를 사용한다. false 면 Hibernate Validator 를 그대로 사용한다.
+*
+*  [validation.fail-fast.*]
+*  endpoints : "컨트롤러.메서드" 별로 첫 번째 오류에서 검증을 멈출지 정한다. -> validation.fail-fast.endpoints[ValidationItemApiController.addItem]=true
+*  header    : 이 헤더가 true 인 요청은 설정과 상관없이 fail-fast 로 검증한다. (헤더로 끌 수는 없다)
+*
+*  [validation.errors.*]
+*  verbosity : API 검증 오류 응답에 담는 정보의 양 (code | message | detail, ApiErrorVerbosity 참고)
+*  header    : 요청마다 verbosity 를 고르는 헤더
+* */
+@Data
+@ConfigurationProperties("validation")
+public class ValidationProperties {
+
+    private boolean compiled = true;
+
+    private FailFast failFast = new FailFast();
+
+    private Errors errors = new Errors();
+
+    @Data
+    public static class FailFast {
+
+        private Map<String, Boolean> endpoints = new HashMap<>();
+
+        private String header = "X-Validation-Fail-Fast";
+
+        public boolean isEnabled(String endpoint) {
+            return Boolean.TRUE.equals(endpoints.get(endpoint));
+        }
+    }
+
+    @Data
+    public static class Errors {
+
+        private ApiErrorVerbosity verbosity = ApiErrorVerbosity.MESSAGE;
+
+        private String header = "X-Error-Verbosity";
+    }
+}
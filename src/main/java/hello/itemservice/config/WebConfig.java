@@ -0,0 +1,113 @@
+package hello.itemservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import hello.itemservice.message.MessageSourceReloadedEvent;
+import hello.itemservice.validation.CachingMessageCodesResolver;
+import hello.itemservice.validation.CompiledBeanValidator;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.idempotency.IdempotencyFilter;
+import hello.itemservice.web.metrics.TimedValidator;
+import hello.itemservice.web.metrics.ValidationMetrics;
+import hello.itemservice.web.metrics.ValidationMetricsInterceptor;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({ItemBulkProperties.class, ValidationProperties.class, IdempotencyProperties.class})
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ValidationProperties validationProperties;
+    private final LocalValidatorFactoryBean validatorFactory;
+    private final MessageSource messageSource;
+    private final ValidationMetrics validationMetrics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ValidationMetricsInterceptor(validationMetrics))
+                .addPathPatterns("/validation/**");
+    }
+
+    /*
+    *  상품 등록 요청의 Idempotency-Key 처리 (재시도로 인한 중복 저장 방지)
+    * */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties idempotencyProperties) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyProperties));
+        registration.addUrlPatterns("/validation/v4/items/add", "/validation/api/items/add");
+        return registration;
+    }
+
+    /*
+    *  상품 API 의 CBOR, Smile 요청/응답 (ItemApiCodecs 참고)
+    *  스프링 부트는 같은 종류의 컨버터 빈이 있으면 기본 컨버터(스프링 부트 Jackson 설정이 빠진)를 이 빈으로 바꾼다.
+    * */
+    @Bean
+    public ItemApiCodecs itemApiCodecs(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return new ItemApiCodecs(objectMapper,
+                builders.getObject().factory(new CBORFactory()).build(),
+                builders.getObject().factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ItemApiCodecs itemApiCodecs) {
+        return new MappingJackson2CborHttpMessageConverter(itemApiCodecs.getCbor());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ItemApiCodecs itemApiCodecs) {
+        return new MappingJackson2SmileHttpMessageConverter(itemApiCodecs.getSmile());
+    }
+
+    @Bean
+    public CachingMessageCodesResolver messageCodesResolver() {
+        return new CachingMessageCodesResolver(messageSource);
+    }
+
+    //메시지 파일이 바뀌면 어떤 코드가 존재하는지도 바뀔 수 있다.
+    @EventListener(MessageSourceReloadedEvent.class)
+    public void clearMessageCodes() {
+        messageCodesResolver().clear();
+    }
+
+    /*
+    *  BindingResult 가 오류 메시지 코드를 만들 때 사용한다. (rejectValue, reject, Bean Validation 오류)
+    * */
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver();
+    }
+
+    /*
+    *  @Validated 가 사용하는 글로벌 검증기
+    *  compiled=false 면 스프링 부트가 등록한 검증기(Hibernate Validator)를 사용한다.
+    *  Hibernate Validator 는 CrossFieldValidatorAdapter 로 감싸서 복합 룰(@TotalPriceMin)을 reject("totalPriceMin") 으로 받는다.
+    *  어느 쪽이든 TimedValidator 로 감싸서 검증 시간을 기록한다.
+    * */
+    @Override
+    public Validator getValidator() {
+        CrossFieldValidatorAdapter beanValidator = new CrossFieldValidatorAdapter(validatorFactory);
+        if (!validationProperties.isCompiled()) {
+            return new TimedValidator(beanValidator);
+        }
+        return new TimedValidator(new CompiledBeanValidator(validatorFactory, beanValidator));
+    }
+}
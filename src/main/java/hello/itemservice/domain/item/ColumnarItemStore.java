@@ -0,0 +1,324 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [ColumnarItemStore]
+*  상품 객체를 보관하지 않고 필드별 원시 타입 배열(컬럼)에 나누어 보관한다.
+*  ID 를 4096 개씩 묶은 청크(Chunk) 단위로 배열을 할당하고, 청크 안의 위치는 ID 로 바로 계산한다.
+*
+*  - price, quantity : int[]
+*  - version          : long[] (0 : null)
+*  - null 여부, 존재 여부 : 비트맵(long[])
+*  - 상품명 : 청크별 byte[] 에 UTF-8 로 이어붙이고 (offset, length) 만 보관한다.
+*
+*  Map Entry + Item + Long + Integer + String 객체가 없으므로 상품당 메모리가 작다.
+*  ItemStoreFootprintBenchmark 측정값 (상품 100만 개, 상품명 "item" + 번호, JDK 17) :
+*  - 저장소만 (indexes=false) : 상품당 약 40 바이트 (MapItemStore 약 148 바이트)
+*  - 가격, 수량 보조 인덱스 포함 (indexes=true) : 상품당 약 160 바이트 (MapItemStore 약 268 바이트)
+*  조회하면 매번 새 Item 복사본을 만들어 반환하므로, 반환된 상품을 수정해도 저장소에는 반영되지 않는다.
+*
+*  [동시성]
+*  청크마다 StampedLock 을 둔다. 쓰기는 청크 단위로 직렬화하고, 읽기는 낙관적 읽기(optimistic read)로 락 없이 처리한다.
+* */
+public class ColumnarItemStore implements ItemStore {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final Object directoryLock = new Object();
+    private final AtomicLong count = new AtomicLong();
+    private volatile Chunk[] chunks = new Chunk[16];
+
+    @Override
+    public void insert(Item item, Consumer<Item> onStored) {
+        Chunk chunk = chunkFor(item.getId(), true);
+        int row = row(item.getId());
+        long stamp = chunk.lock.writeLock();
+        try {
+            if (!chunk.isPresent(row)) {
+                count.incrementAndGet();
+            }
+            chunk.write(row, item);
+            onStored.accept(item);
+        } finally {
+            chunk.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        Chunk chunk = chunkFor(id, false);
+        return chunk == null ? null : chunk.read(row(id), id);
+    }
+
+    @Override
+    public Item update(long id, Consumer<Item> change, Consumer<Item> onStored) {
+        Chunk chunk = chunkFor(id, false);
+        if (chunk == null) {
+            return null;
+        }
+        int row = row(id);
+        long stamp = chunk.lock.writeLock();
+        try {
+            if (!chunk.isPresent(row)) {
+                return null;
+            }
+            Item item = chunk.materialize(row, id);
+            change.accept(item);
+            chunk.write(row, item);
+            onStored.accept(item);
+            return item;
+        } finally {
+            chunk.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Item put(Item item) {
+        Chunk chunk = chunkFor(item.getId(), true);
+        int row = row(item.getId());
+        long stamp = chunk.lock.writeLock();
+        try {
+            Item previous = null;
+            if (chunk.isPresent(row)) {
+                previous = chunk.materialize(row, item.getId());
+            } else {
+                count.incrementAndGet();
+            }
+            chunk.write(row, item);
+            return previous;
+        } finally {
+            chunk.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void load(List<Item> items) {
+        //청크마다 락이 따로 있으므로 여러 쓰레드가 나눠서 적재한다.
+        items.parallelStream().forEach(this::put);
+    }
+
+    @Override
+    public List<Item> findAfter(Long cursor, int limit) {
+        List<Item> items = new ArrayList<>(limit);
+        //Long.MAX_VALUE 다음 ID 는 없다. (cursor + 1 이 넘치면 처음부터 다시 읽게 된다)
+        if (cursor != null && cursor == Long.MAX_VALUE) {
+            return items;
+        }
+        long id = cursor == null ? 1 : Math.max(1, cursor + 1);
+        Chunk[] current = chunks;
+        while (items.size() < limit && (id >>> CHUNK_BITS) < current.length) {
+            int chunkNo = (int) (id >>> CHUNK_BITS);
+            Chunk chunk = current[chunkNo];
+            if (chunk != null) {
+                long baseId = (long) chunkNo << CHUNK_BITS;
+                for (int row = row(id); row < CHUNK_SIZE && items.size() < limit; row++) {
+                    Item item = chunk.read(row, baseId + row);
+                    if (item != null) {
+                        items.add(item);
+                    }
+                }
+            }
+            id = (long) (chunkNo + 1) << CHUNK_BITS;
+        }
+        return items;
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        Chunk[] current = chunks;
+        for (int chunkNo = 0; chunkNo < current.length; chunkNo++) {
+            Chunk chunk = current[chunkNo];
+            if (chunk == null) {
+                continue;
+            }
+            long baseId = (long) chunkNo << CHUNK_BITS;
+            for (int row = 0; row < CHUNK_SIZE; row++) {
+                Item item = chunk.read(row, baseId + row);
+                if (item != null) {
+                    action.accept(item);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (directoryLock) {
+            chunks = new Chunk[16];
+            count.set(0);
+        }
+    }
+
+    private static int row(long id) {
+        return (int) (id & CHUNK_MASK);
+    }
+
+    private Chunk chunkFor(long id, boolean create) {
+        //음수이거나 청크 번호가 int 를 넘는 ID 는 담을 수 없다. (int 로 자르면 다른 청크를 가리키게 된다)
+        if (id < 0 || (id >>> CHUNK_BITS) > Integer.MAX_VALUE) {
+            if (create) {
+                throw new IllegalArgumentException("저장할 수 없는 상품 ID 입니다. id=" + id);
+            }
+            return null;
+        }
+        int chunkNo = (int) (id >>> CHUNK_BITS);
+        Chunk[] current = chunks;
+        if (chunkNo < current.length && current[chunkNo] != null) {
+            return current[chunkNo];
+        }
+        if (!create) {
+            return null;
+        }
+        synchronized (directoryLock) {
+            Chunk[] grown = chunks;
+            if (chunkNo >= grown.length) {
+                grown = Arrays.copyOf(grown, Math.max(chunkNo + 1, grown.length * 2));
+            }
+            if (grown[chunkNo] == null) {
+                grown[chunkNo] = new Chunk();
+            }
+            chunks = grown;
+            return grown[chunkNo];
+        }
+    }
+
+    private static final class Chunk {
+
+        private final StampedLock lock = new StampedLock();
+
+        private final long[] present = new long[CHUNK_SIZE / 64];
+        private final long[] priceNull = new long[CHUNK_SIZE / 64];
+        private final long[] quantityNull = new long[CHUNK_SIZE / 64];
+        private final int[] price = new int[CHUNK_SIZE];
+        private final int[] quantity = new int[CHUNK_SIZE];
+        private final long[] version = new long[CHUNK_SIZE];
+        private final int[] nameOffset = new int[CHUNK_SIZE];
+        private final int[] nameLength = new int[CHUNK_SIZE]; // -1 : null
+
+        //상품명 바이트는 뒤에 이어붙이기만 한다. 이미 쓴 구간은 바뀌지 않으므로 락 없이 읽어도 안전하다.
+        private byte[] names = new byte[CHUNK_SIZE * 8];
+        private int namesUsed;
+        private int namesLive;
+
+        boolean isPresent(int row) {
+            return bit(present, row);
+        }
+
+        /**
+         * 낙관적 읽기로 복사본을 만든다. 읽는 도중 쓰기가 있었으면 읽기 락을 잡고 다시 읽는다.
+         */
+        Item read(int row, long id) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                boolean exists = bit(present, row);
+                boolean nullPrice = bit(priceNull, row);
+                boolean nullQuantity = bit(quantityNull, row);
+                int priceValue = price[row];
+                int quantityValue = quantity[row];
+                long versionValue = version[row];
+                byte[] nameBytes = names;
+                int offset = nameOffset[row];
+                int length = nameLength[row];
+                if (lock.validate(stamp)) {
+                    return exists ? toItem(id, nameBytes, offset, length,
+                            nullPrice ? null : priceValue, nullQuantity ? null : quantityValue, versionValue) : null;
+                }
+            }
+
+            stamp = lock.readLock();
+            try {
+                return isPresent(row) ? materialize(row, id) : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        //락을 잡은 상태에서 호출한다.
+        Item materialize(int row, long id) {
+            return toItem(id, names, nameOffset[row], nameLength[row],
+                    bit(priceNull, row) ? null : price[row],
+                    bit(quantityNull, row) ? null : quantity[row], version[row]);
+        }
+
+        //쓰기 락을 잡은 상태에서 호출한다.
+        void write(int row, Item item) {
+            if (isPresent(row) && nameLength[row] > 0) {
+                namesLive -= nameLength[row];
+            }
+            nameLength[row] = -1;
+            setBit(present, row, true);
+            setBit(priceNull, row, item.getPrice() == null);
+            setBit(quantityNull, row, item.getQuantity() == null);
+            price[row] = item.getPrice() == null ? 0 : item.getPrice();
+            quantity[row] = item.getQuantity() == null ? 0 : item.getQuantity();
+            version[row] = item.getVersion() == null ? 0 : item.getVersion();
+
+            if (item.getItemName() == null) {
+                nameOffset[row] = 0;
+                return;
+            }
+            byte[] encoded = item.getItemName().getBytes(UTF_8);
+            ensureNameCapacity(encoded.length);
+            System.arraycopy(encoded, 0, names, namesUsed, encoded.length);
+            nameOffset[row] = namesUsed;
+            nameLength[row] = encoded.length;
+            namesUsed += encoded.length;
+            namesLive += encoded.length;
+        }
+
+        //수정으로 버려진 상품명이 절반을 넘으면 살아있는 상품명만 새 배열로 옮긴다. (이전 배열은 그대로 두므로 읽는 쪽은 안전하다)
+        private void ensureNameCapacity(int additional) {
+            if (namesUsed + additional <= names.length) {
+                return;
+            }
+            int required = namesLive + additional;
+            byte[] compacted = new byte[Math.max(required * 2, names.length)];
+            int used = 0;
+            for (int row = 0; row < CHUNK_SIZE; row++) {
+                if (isPresent(row) && nameLength[row] > 0) {
+                    System.arraycopy(names, nameOffset[row], compacted, used, nameLength[row]);
+                    nameOffset[row] = used;
+                    used += nameLength[row];
+                }
+            }
+            names = compacted;
+            namesUsed = used;
+        }
+
+        private static Item toItem(long id, byte[] nameBytes, int offset, int length,
+                                   Integer price, Integer quantity, long version) {
+            String itemName = length < 0 ? null : new String(nameBytes, offset, length, UTF_8);
+            Item item = new Item(itemName, price, quantity);
+            item.setId(id);
+            item.setVersion(version == 0 ? null : version);
+            return item;
+        }
+
+        private static boolean bit(long[] bits, int row) {
+            return (bits[row >>> 6] & (1L << row)) != 0;
+        }
+
+        private static void setBit(long[] bits, int row, boolean value) {
+            if (value) {
+                bits[row >>> 6] |= 1L << row;
+            } else {
+                bits[row >>> 6] &= ~(1L << row);
+            }
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package hello.itemservice.domain.item;
 
+import hello.itemservice.validation.TotalPriceMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
-import org.hibernate.validator.constraints.ScriptAssert;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
@@ -21,9 +21,13 @@ import javax.validation.constraints.NotNull;
 *
 *  따라서 Object Error(Global Error) 의 경우 @ScriptAssert 을 억지로 사용하는 것보다는 Object Error 관련 부분만
 *  직접 java code 로 작성하는 것을 권장한다.
+*
+*  [@TotalPriceMin]
+*  @ScriptAssert(lang = "javascript" , script="_this.price * _this.quantity >= 10000") 대신 자바 코드로 만든 클래스 레벨 제약이다.
+*  스크립트 엔진 없이 필드 제약과 같은 검증에서 함께 실행되고, reject("totalPriceMin", {10000, 현재 값}) 으로 보고한다.
 * */
 @Data
-//@ScriptAssert(lang = "javascript" , script="_this.price * _this.quantity >= 10000")
+@TotalPriceMin(groups = {SaveCheck.class, UpdateCheck.class})
 public class Item {
     /*
     *  [Bean Validation 이란?]
@@ -87,6 +91,9 @@ public class Item {
     @Max(value = 9999, groups = {SaveCheck.class})
     private Integer quantity;
 
+    //ItemRepository 가 관리한다. 저장하면 1, 수정할 때마다 1 씩 증가한다. (ETag)
+    private Long version;
+
     public Item() {
     }
 
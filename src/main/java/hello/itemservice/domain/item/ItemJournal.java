@@ -0,0 +1,27 @@
+package hello.itemservice.domain.item;
+
+/*
+*  [ItemJournal]
+*  ItemRepository 의 변경(save, update)을 기록하는 확장 지점.
+*  - append() : 변경된 상품의 전체 상태를 기록하고 ticket 을 반환한다. (저장소에 반영된 뒤, 상품 단위 락 안에서 호출된다)
+*  - sync()   : 해당 ticket 까지 기록이 내구성을 갖출 때까지 기다린다. (락 밖에서 호출된다)
+*
+*  append 와 sync 를 분리해두면 여러 쓰레드의 기록을 한 번의 fsync 로 묶을 수 있다. (group commit)
+* */
+public interface ItemJournal {
+
+    ItemJournal NONE = new ItemJournal() {
+        @Override
+        public long append(Item item) {
+            return 0;
+        }
+
+        @Override
+        public void sync(long ticket) {
+        }
+    };
+
+    long append(Item item);
+
+    void sync(long ticket);
+}
@@ -0,0 +1,35 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+*  [커서(keyset) 기반 페이지]
+*  offset 방식은 앞 페이지를 모두 건너뛰어야 하지만, 커서 방식은 마지막으로 본 ID 다음부터 바로 읽는다.
+*  - items : 현재 페이지의 상품 (ID 오름차순)
+*  - nextCursor : 다음 페이지 요청시 넘길 커서, 마지막 페이지면 null
+* */
+@Getter
+public class ItemPage {
+
+    public static final int MAX_SIZE = 100;
+
+    private final List<Item> items;
+    private final int size;
+    private final Long nextCursor;
+
+    public ItemPage(List<Item> items, int size, Long nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isLast() {
+        return nextCursor == null;
+    }
+
+    static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
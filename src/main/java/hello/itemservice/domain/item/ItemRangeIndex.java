@@ -0,0 +1,123 @@
+package hello.itemservice.domain.item;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/*
+*  [정렬된 보조 인덱스]
+*  (값, 상품 ID) 쌍을 정렬해서 보관한다. 같은 값을 가진 상품이 여러 개여도 ID 로 구분된다.
+*  범위 조회는 시작 위치를 O(log n) 에 찾고, 결과 개수만큼만 순회한다.
+*
+*  값이 null 인 상품은 인덱스에 넣지 않는다. (범위 조건에 걸리지 않는다)
+*  인덱스 변경은 ItemRepository 가 상품 단위 락 안에서 호출한다.
+* */
+class ItemRangeIndex {
+
+    private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+    private final Function<Item, Integer> extractor;
+
+    ItemRangeIndex(Function<Item, Integer> extractor) {
+        this.extractor = extractor;
+    }
+
+    void add(Item item) {
+        Integer value = extractor.apply(item);
+        if (value != null) {
+            entries.add(new Entry(value, item.getId()));
+        }
+    }
+
+    /**
+     * 비어있는 인덱스를 한 번에 채운다. 정렬해서 오름차순으로 넣으면 스킵 리스트 탐색이 캐시에 남은 경로를 따라가서 무작위 순서보다 빠르다.
+     */
+    void addAll(List<Item> items) {
+        Entry[] sorted = items.stream()
+                .filter(item -> extractor.apply(item) != null)
+                .map(item -> new Entry(extractor.apply(item), item.getId()))
+                .toArray(Entry[]::new);
+        Arrays.parallelSort(sorted);
+        Collections.addAll(entries, sorted);
+    }
+
+    void remove(Item item) {
+        Integer value = extractor.apply(item);
+        if (value != null) {
+            entries.remove(new Entry(value, item.getId()));
+        }
+    }
+
+    /**
+     * min 이상 max 이하인 상품 ID 를 값 순서로 반환한다. null 이면 해당 방향은 제한하지 않는다.
+     */
+    Iterator<Long> range(Integer min, Integer max) {
+        Entry from = new Entry(min == null ? Integer.MIN_VALUE : min, Long.MIN_VALUE);
+        Entry to = new Entry(max == null ? Integer.MAX_VALUE : max, Long.MAX_VALUE);
+        if (from.compareTo(to) > 0) {
+            return Collections.emptyIterator();
+        }
+
+        Iterator<Entry> iterator = entries.subSet(from, true, to, true).iterator();
+        return new Iterator<Long>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Long next() {
+                return iterator.next().itemId;
+            }
+        };
+    }
+
+    boolean matches(Item item, Integer min, Integer max) {
+        Integer value = extractor.apply(item);
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final int value;
+        private final long itemId;
+
+        private Entry(int value, long itemId) {
+            this.value = value;
+            this.itemId = itemId;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Integer.compare(value, other.value);
+            return result != 0 ? result : Long.compare(itemId, other.itemId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return value == other.value && itemId == other.itemId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * value + Long.hashCode(itemId);
+        }
+    }
+}
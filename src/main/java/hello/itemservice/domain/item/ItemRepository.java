@@ -1,41 +1,328 @@
 package hello.itemservice.domain.item;
 
-import org.springframework.stereotype.Repository;
-
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
-@Repository
+/*
+*  [동시성 문제]
+*  HashMap 과 ++sequence 는 여러 쓰레드가 동시에 접근하면 안전하지 않다.
+*  - ++sequence 는 읽기, 증가, 쓰기가 분리되어 있어서 같은 ID 가 중복으로 발급될 수 있다.
+*  - HashMap 은 동시에 put 하면 데이터가 유실되거나, resize 중에 내부 구조가 깨질 수 있다.
+*
+*  따라서 ID 는 AtomicLong(CAS) 으로 발급하고, 상품은 동시성을 지원하는 ItemStore 에 보관한다.
+*  전역 락이 없기 때문에 코어 수가 늘어나면 처리량도 함께 늘어난다.
+*
+*  [ItemStore]
+*  상품을 실제로 보관하는 방식은 ItemStore 로 분리했다. (MapItemStore, ColumnarItemStore)
+*  같은 상품에 대한 쓰기는 ItemStore 가 상품 단위로 직렬화하고, 그 안에서 인덱스와 로그를 함께 갱신한다.
+*
+*  [스냅샷]
+*  findAll, iterate, forEach 는 시작할 때 ItemStore.snapshot() 을 한 번 잡고 그 시점의 상태만 읽는다.
+*  MapItemStore 의 스냅샷은 복사도 락도 없이 만들어지므로, 전체를 읽는 동안에도 쓰기는 계속 진행된다.
+*  ColumnarItemStore 는 스냅샷을 지원하지 않는다. 상품 하나하나는 온전한 상태로 읽지만, 읽는 도중의 저장, 수정이 섞일 수 있다.
+*
+*  [보조 인덱스]
+*  가격, 수량은 정렬된 보조 인덱스(ItemRangeIndex)를 함께 유지한다. 범위 검색(search)은 전체를 훑지 않는다.
+*
+*  [버전, 변경 카운터]
+*  상품마다 version 을 매긴다. (저장하면 1, 수정할 때마다 +1) 저장소 전체의 변경 횟수(modificationCount)와 마지막 변경 시각도 함께 관리한다.
+*  웹 계층은 이 값으로 ETag, Last-Modified 를 만든다. 값은 쓰기를 반영한 뒤에 올리므로, 먼저 읽은 카운터가 같으면 그 사이에 바뀐 내용이 없다.
+*  epoch 는 저장소를 만들 때마다 달라지는 값이다. (재시작 후 같은 카운터 값이 다른 내용을 가리키지 않도록 ETag 에 함께 넣는다)
+*
+*  [영속 모드]
+*  ItemJournal 을 넘겨주면 save, update 를 로그에 기록한다.
+*  스프링 빈은 ItemStoreConfig 에서 등록한다.
+* */
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    private final ItemStore store;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ItemRangeIndex priceIndex = new ItemRangeIndex(Item::getPrice);
+    private final ItemRangeIndex quantityIndex = new ItemRangeIndex(Item::getQuantity);
+    private final ItemJournal journal;
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong modificationCount = new AtomicLong();
+    private volatile long lastModified = epoch;
+
+    public ItemRepository() {
+        this(new MapItemStore(), ItemJournal.NONE);
+    }
+
+    public ItemRepository(ItemJournal journal) {
+        this(new MapItemStore(), journal);
+    }
+
+    public ItemRepository(ItemStore store, ItemJournal journal) {
+        this.store = store;
+        this.journal = journal;
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setId(sequence.incrementAndGet());
+        item.setVersion(1L);
+        long[] ticket = new long[1];
+        store.insert(item, stored -> {
+            addIndex(stored);
+            ticket[0] = journal.append(stored);
+        });
+        modified();
+        journal.sync(ticket[0]);
         return item;
     }
 
+    /**
+     * 여러 상품을 저장하고 마지막에 한 번만 로그 sync 를 기다린다. (fsync 를 묶어서 처리)
+     */
+    public List<Item> saveAll(List<Item> items) {
+        long[] ticket = new long[1];
+        for (Item item : items) {
+            item.setId(sequence.incrementAndGet());
+            item.setVersion(1L);
+            store.insert(item, stored -> {
+                addIndex(stored);
+                ticket[0] = journal.append(stored);
+            });
+        }
+        modified();
+        journal.sync(ticket[0]);
+        return items;
+    }
+
     public Item findById(Long id) {
         return store.get(id);
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        List<Item> items = new ArrayList<>();
+        store.snapshot().forEach(items::add);
+        return items;
+    }
+
+    /**
+     * cursor 다음 ID 부터 size 개의 상품을 ID 순으로 조회한다. cursor 가 null 이면 처음부터 조회한다.
+     */
+    public ItemPage findPage(Long cursor, int size) {
+        return findPage(store, cursor, size);
+    }
+
+    private static ItemPage findPage(ItemView view, Long cursor, int size) {
+        int pageSize = ItemPage.normalizeSize(size);
+        //다음 페이지가 있는지 알기 위해 한 개 더 읽는다.
+        List<Item> items = view.findAfter(cursor, pageSize + 1);
+
+        Long nextCursor = null;
+        if (items.size() > pageSize) {
+            items.remove(pageSize);
+            nextCursor = items.get(pageSize - 1).getId();
+        }
+        return new ItemPage(items, pageSize, nextCursor);
+    }
+
+    /**
+     * cursor 다음 ID 부터 모든 상품을 ID 순으로 순회한다. (cursor 가 null 이면 처음부터)
+     * 한 번에 한 페이지(ItemPage.MAX_SIZE)씩 필요할 때 읽으므로 전체 목록을 메모리에 올리지 않는다.
+     * MapItemStore 면 모든 페이지를 호출한 시점의 스냅샷에서 읽으므로, 순회 중의 저장, 수정은 보이지 않는다.
+     * ColumnarItemStore 는 페이지를 읽을 때마다 그 시점의 상태를 본다.
+     */
+    public Iterator<Item> iterate(Long cursor) {
+        return new PageIterator(store.snapshot(), cursor);
+    }
+
+    /**
+     * 가격, 수량 범위로 상품을 조회한다. 가격 조건이 있으면 가격 순, 없으면 수량 순으로 최대 limit 개를 반환한다.
+     * 조회 비용은 전체 상품 수가 아니라 인덱스에서 읽은 결과 수에 비례한다.
+     */
+    public List<Item> search(ItemSearchCond cond, int limit) {
+        int maxResults = ItemPage.normalizeSize(limit);
+        Iterator<Long> itemIds;
+        if (cond.hasPriceCond()) {
+            itemIds = priceIndex.range(cond.getMinPrice(), cond.getMaxPrice());
+        } else if (cond.hasQuantityCond()) {
+            itemIds = quantityIndex.range(cond.getMinQuantity(), cond.getMaxQuantity());
+        } else {
+            return findPage(null, maxResults).getItems();
+        }
+
+        List<Item> result = new ArrayList<>();
+        while (itemIds.hasNext() && result.size() < maxResults) {
+            Item item = store.get(itemIds.next());
+            //인덱스를 읽은 뒤 수정되었을 수 있으므로 현재 값으로 다시 확인한다.
+            if (item != null
+                    && priceIndex.matches(item, cond.getMinPrice(), cond.getMaxPrice())
+                    && quantityIndex.matches(item, cond.getMinQuantity(), cond.getMaxQuantity())) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * updateParam 의 version 이 있으면 저장된 version 과 같을 때만 수정한다. (compare-and-swap)
+     * 다르면 아무것도 바꾸지 않고 ItemVersionConflictException 을 던진다. version 이 없으면 그대로 덮어쓴다.
+     *
+     * @return 수정된 상품, 상품이 없으면 null (아무것도 바꾸지 않는다)
+     */
+    public Item update(Long itemId, Item updateParam) {
+        //같은 상품에 대한 수정은 상품 단위로 직렬화한다. (다른 상품의 수정은 서로 막지 않는다)
+        //로그 기록도 같은 락 안에서 하기 때문에 로그의 순서와 메모리의 순서가 같다.
+        //save 와 같이 저장소에 반영한 뒤에 기록한다. -> 로그 압축이 읽는 상태에는 로그에 기록된 수정이 모두 들어있다.
+        //version 비교도 같은 락 안에서 하므로 비교와 수정 사이에 다른 수정이 끼어들 수 없다.
+        long[] ticket = new long[1];
+        Item updated = store.update(itemId, findItem -> {
+            Long expectedVersion = updateParam.getVersion();
+            if (expectedVersion != null && !expectedVersion.equals(findItem.getVersion())) {
+                throw new ItemVersionConflictException(itemId, expectedVersion, findItem.getVersion());
+            }
+            removeIndex(findItem);
+            findItem.setItemName(updateParam.getItemName());
+            findItem.setPrice(updateParam.getPrice());
+            findItem.setQuantity(updateParam.getQuantity());
+            findItem.setVersion(nextVersion(findItem));
+            addIndex(findItem);
+        }, stored -> ticket[0] = journal.append(stored));
+        if (updated == null) {
+            return null;
+        }
+        modified();
+        journal.sync(ticket[0]);
+        return updated;
+    }
+
+    /**
+     * 복구용 - 로그에 기록된 상품을 그대로 적재한다. (로그에 다시 기록하지 않는다)
+     */
+    public void restore(Item item) {
+        if (item.getVersion() == null) {
+            //version 이 없는 예전 로그 - 같은 ID 의 레코드 순서대로 다시 매긴다.
+            Item current = store.get(item.getId());
+            item.setVersion(current == null ? 1L : nextVersion(current));
+        }
+        Item previous = store.put(item);
+        if (previous != null) {
+            removeIndex(previous);
+        }
+        addIndex(item);
+        sequence.accumulateAndGet(item.getId(), Math::max);
+        modified();
+    }
+
+    /**
+     * 복구용 - 비어있는 저장소에 ID 순으로 정렬된 상품을 한 번에 적재하고 ID 시퀀스를 복원한다. (로그에 기록하지 않는다)
+     * 보조 인덱스는 정렬해서 한 번에 채운다. 적재한 상품 객체는 저장소가 그대로 보관할 수 있으므로 이후에 수정하면 안 된다.
+     */
+    public void load(List<Item> items, long lastId) {
+        if (!store.isEmpty()) {
+            throw new IllegalStateException("비어있는 저장소에만 적재할 수 있습니다.");
+        }
+        store.load(items);
+        priceIndex.addAll(items);
+        quantityIndex.addAll(items);
+        long maxId = items.isEmpty() ? 0 : items.get(items.size() - 1).getId();
+        sequence.accumulateAndGet(Math.max(lastId, maxId), Math::max);
+        modified();
     }
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+    /**
+     * 모든 상품을 ID 순으로 순회한다. 각 상품은 수정 중이 아닌 온전한 상태로 전달된다.
+     * 호출한 시점의 상태만 보는 것은 스냅샷을 지원하는 MapItemStore 뿐이다.
+     */
+    public void forEach(Consumer<Item> action) {
+        store.snapshot().forEach(action);
+    }
+
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    /**
+     * 마지막으로 발급한 상품 ID
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * 저장소를 만든 시각(ms). 재시작하면 달라진다.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * 저장, 수정, 삭제가 반영될 때마다 1 씩 증가한다.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * 마지막으로 변경이 반영된 시각(ms)
+     */
+    public long getLastModified() {
+        return lastModified;
     }
 
     public void clearStore() {
         store.clear();
+        priceIndex.clear();
+        quantityIndex.clear();
+        modified();
+    }
+
+    private void modified() {
+        lastModified = System.currentTimeMillis();
+        modificationCount.incrementAndGet();
+    }
+
+    private static long nextVersion(Item item) {
+        return item.getVersion() == null ? 1L : item.getVersion() + 1;
+    }
+
+    private static class PageIterator implements Iterator<Item> {
+
+        private final ItemView view;
+        private Iterator<Item> current = Collections.emptyIterator();
+        private Long cursor;
+        private boolean last;
+
+        PageIterator(ItemView view, Long cursor) {
+            this.view = view;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && !last) {
+                ItemPage page = findPage(view, cursor, ItemPage.MAX_SIZE);
+                current = page.getItems().iterator();
+                cursor = page.getNextCursor();
+                last = page.isLast();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Item next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    private void addIndex(Item item) {
+        priceIndex.add(item);
+        quantityIndex.add(item);
+    }
+
+    private void removeIndex(Item item) {
+        priceIndex.remove(item);
+        quantityIndex.remove(item);
     }
 
 }
@@ -0,0 +1,36 @@
+package hello.itemservice.domain.item;
+
+import lombok.Data;
+
+/*
+*  [상품 범위 검색 조건]
+*  min, max 는 모두 포함(이상, 이하)이며 null 이면 해당 조건을 적용하지 않는다.
+*  ex) 가격 10,000 ~ 50,000 : minPrice=10000&maxPrice=50000
+*      재고 부족(수량 < 10)  : maxQuantity=9
+* */
+@Data
+public class ItemSearchCond {
+
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public ItemSearchCond() {
+    }
+
+    public ItemSearchCond(Integer minPrice, Integer maxPrice, Integer minQuantity, Integer maxQuantity) {
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+    }
+
+    public boolean hasPriceCond() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasQuantityCond() {
+        return minQuantity != null || maxQuantity != null;
+    }
+}
@@ -0,0 +1,61 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+*  [상품 저장소]
+*  ItemRepository 가 상품을 실제로 보관하는 방식. ID 발급, 보조 인덱스, 로그 기록은 ItemRepository 가 담당한다.
+*  - MapItemStore      : 변경할 수 없는 상품 버전을 보관하고, 수정하면 새 버전으로 교체한다. 스냅샷을 지원한다. (기본)
+*  - ColumnarItemStore : 필드별 원시 타입 배열(컬럼)에 보관한다. 상품당 메모리와 GC 부담이 작다. 스냅샷은 지원하지 않는다.
+*
+*  insert, update, put 의 콜백은 같은 상품에 대한 다른 쓰기와 겹치지 않게 실행된다. (상품 단위 직렬화)
+* */
+public interface ItemStore extends ItemView {
+
+    /**
+     * ID 가 발급된 새 상품을 저장하고, 저장된 상태로 onStored 를 실행한다.
+     */
+    void insert(Item item, Consumer<Item> onStored);
+
+    /**
+     * 상품의 현재 상태를 change 로 수정해서 반영한다. change 가 예외를 던지면 반영하지 않는다.
+     *
+     * @return 수정된 상품, 상품이 없으면 null
+     */
+    default Item update(long id, Consumer<Item> change) {
+        return update(id, change, item -> {
+        });
+    }
+
+    /**
+     * update(id, change) 와 같고, 반영된 상태로 onStored 를 실행한다. (insert 와 같이 반영한 뒤, 같은 상품의 락 안에서)
+     */
+    Item update(long id, Consumer<Item> change, Consumer<Item> onStored);
+
+    /**
+     * 복구용 - 상품을 그대로 저장한다.
+     *
+     * @return 덮어쓴 이전 상품, 없었으면 null
+     */
+    Item put(Item item);
+
+    /**
+     * 복구용 - 비어있는 저장소에 ID 순으로 정렬된 상품을 한 번에 적재한다. 상품 객체를 복사하지 않고 그대로 보관할 수 있다.
+     */
+    default void load(List<Item> items) {
+        for (Item item : items) {
+            put(item);
+        }
+    }
+
+    /**
+     * 지금 시점의 상태를 반환한다. 이후의 쓰기는 반환된 스냅샷에 보이지 않는다.
+     * 스냅샷을 지원하지 않는 저장소는 자기 자신을 반환한다. (읽을 때마다 그 시점의 상태를 본다)
+     */
+    default ItemView snapshot() {
+        return this;
+    }
+
+    void clear();
+}
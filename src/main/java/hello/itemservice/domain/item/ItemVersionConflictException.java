@@ -0,0 +1,21 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+/*
+*  수정 요청의 version 이 저장된 상품의 version 과 다르다. -> 그 사이에 다른 사용자가 먼저 수정했다.
+* */
+@Getter
+public class ItemVersionConflictException extends RuntimeException {
+
+    private final Long itemId;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public ItemVersionConflictException(Long itemId, Long expectedVersion, Long currentVersion) {
+        super("상품 version 충돌 itemId=" + itemId + ", expected=" + expectedVersion + ", current=" + currentVersion);
+        this.itemId = itemId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
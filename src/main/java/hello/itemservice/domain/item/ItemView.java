@@ -0,0 +1,25 @@
+package hello.itemservice.domain.item;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+*  [상품 조회]
+*  ItemStore 의 읽기 전용 부분. ItemStore.snapshot() 이 반환하는 한 시점의 상태도 같은 방식으로 읽는다.
+* */
+public interface ItemView {
+
+    Item get(long id);
+
+    /**
+     * cursor 보다 큰 ID 의 상품을 ID 순으로 최대 limit 개 반환한다. cursor 가 null 이면 처음부터 반환한다.
+     */
+    List<Item> findAfter(Long cursor, int limit);
+
+    /**
+     * 모든 상품을 ID 순으로 순회한다. 각 상품은 수정 중이 아닌 온전한 상태로 전달된다.
+     */
+    void forEach(Consumer<Item> action);
+
+    boolean isEmpty();
+}
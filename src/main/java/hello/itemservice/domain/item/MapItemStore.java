@@ -0,0 +1,252 @@
+package hello.itemservice.domain.item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/*
+*  [MapItemStore - MVCC]
+*  ID -> 상품 버전을 변경할 수 없는(persistent) 32 갈래 트라이에 ID 순으로 보관한다.
+*  저장소의 현재 상태는 트라이의 루트 하나(Snapshot)이고, 쓰기는 바뀌는 경로의 노드만 복사한 새 루트를 CAS 로 교체한다. (O(log32 n))
+*
+*  - 저장된 상품 버전은 이후에 절대 바뀌지 않는다. 수정은 복사본에 적용해서 새 버전으로 교체한다.
+*    따라서 조회한 상품은 화면을 그리는 도중에도 값이 바뀌지 않는다. (반환된 상품을 수정하면 안 된다)
+*  - 읽기는 루트를 한 번 읽고 그 트라이만 따라가므로 락이 없고, 쓰기를 막지도 않는다.
+*    snapshot() 은 루트를 그대로 반환하므로 복사 없이 한 시점의 전체 상태를 읽을 수 있다.
+*  - 같은 상품에 대한 쓰기는 현재 버전 객체의 락으로 직렬화한다. (다른 상품의 쓰기는 루트 CAS 만 겹친다)
+* */
+public class MapItemStore implements ItemStore {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    @Override
+    public void insert(Item item, Consumer<Item> onStored) {
+        Item stored = copyOf(item);
+        synchronized (stored) {
+            install(stored);
+            onStored.accept(stored);
+        }
+    }
+
+    @Override
+    public Item get(long id) {
+        return current.get().get(id);
+    }
+
+    @Override
+    public Item update(long id, Consumer<Item> change, Consumer<Item> onStored) {
+        while (true) {
+            Item item = current.get().get(id);
+            if (item == null) {
+                return null;
+            }
+            synchronized (item) {
+                //락을 기다리는 동안 다른 쓰기가 새 버전을 설치했으면 새 버전으로 다시 시도한다.
+                if (current.get().get(id) != item) {
+                    continue;
+                }
+                Item next = copyOf(item);
+                change.accept(next);
+                install(next);
+                onStored.accept(next);
+                return next;
+            }
+        }
+    }
+
+    @Override
+    public Item put(Item item) {
+        return install(copyOf(item));
+    }
+
+    @Override
+    public void load(List<Item> items) {
+        //비어있는 저장소를 채우므로 경로 복사 없이 새 트라이를 만들고 루트만 교체한다.
+        if (!current.compareAndSet(Snapshot.EMPTY, Snapshot.build(items))) {
+            throw new IllegalStateException("비어있는 저장소에만 적재할 수 있습니다.");
+        }
+    }
+
+    @Override
+    public List<Item> findAfter(Long cursor, int limit) {
+        return current.get().findAfter(cursor, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<Item> action) {
+        current.get().forEach(action);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return current.get().isEmpty();
+    }
+
+    @Override
+    public ItemView snapshot() {
+        return current.get();
+    }
+
+    @Override
+    public void clear() {
+        current.set(Snapshot.EMPTY);
+    }
+
+    /**
+     * 새 버전을 루트 교체로 반영하고 이전 버전을 반환한다. 경로 복사는 부수 효과가 없어서 CAS 가 실패하면 그대로 다시 한다.
+     */
+    private Item install(Item item) {
+        long id = item.getId();
+        return current.getAndUpdate(snapshot -> snapshot.with(id, item)).get(id);
+    }
+
+    private static Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setVersion(item.getVersion());
+        return copy;
+    }
+
+    private static final class Snapshot implements ItemView {
+
+        static final Snapshot EMPTY = new Snapshot(new Object[WIDTH], 0, 0);
+
+        //shift == 0 이면 root 가 상품을 담은 잎 노드다. 잎이 아닌 노드는 자식 노드(Object[])를 담는다.
+        private final Object[] root;
+        private final int shift;
+        private final long size;
+
+        private Snapshot(Object[] root, int shift, long size) {
+            this.root = root;
+            this.shift = shift;
+            this.size = size;
+        }
+
+        @Override
+        public Item get(long id) {
+            if (id < 0 || !fits(id, shift)) {
+                return null;
+            }
+            Object[] node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Object[]) node[slot(id, level)];
+                if (node == null) {
+                    return null;
+                }
+            }
+            return (Item) node[slot(id, 0)];
+        }
+
+        @Override
+        public List<Item> findAfter(Long cursor, int limit) {
+            List<Item> items = new ArrayList<>(limit);
+            //Long.MAX_VALUE 다음 ID 는 없다. (cursor + 1 이 넘치면 처음부터 다시 읽게 된다)
+            if (cursor != null && cursor == Long.MAX_VALUE) {
+                return items;
+            }
+            long from = cursor == null ? 0 : Math.max(0, cursor + 1);
+            if (limit > 0 && fits(from, shift)) {
+                scan(root, shift, from, item -> {
+                    items.add(item);
+                    return items.size() < limit;
+                });
+            }
+            return items;
+        }
+
+        @Override
+        public void forEach(Consumer<Item> action) {
+            scan(root, shift, 0, item -> {
+                action.accept(item);
+                return true;
+            });
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        //아직 공개하지 않은 노드를 제자리에서 채운다. 루트를 교체할 때 한 번에 공개된다.
+        static Snapshot build(List<Item> items) {
+            Object[] root = new Object[WIDTH];
+            int shift = 0;
+            long size = 0;
+            for (Item item : items) {
+                long id = item.getId();
+                while (!fits(id, shift)) {
+                    Object[] grown = new Object[WIDTH];
+                    grown[0] = root;
+                    root = grown;
+                    shift += BITS;
+                }
+                Object[] node = root;
+                for (int level = shift; level > 0; level -= BITS) {
+                    int slot = slot(id, level);
+                    if (node[slot] == null) {
+                        node[slot] = new Object[WIDTH];
+                    }
+                    node = (Object[]) node[slot];
+                }
+                if (node[slot(id, 0)] == null) {
+                    size++;
+                }
+                node[slot(id, 0)] = item;
+            }
+            return new Snapshot(root, shift, size);
+        }
+
+        Snapshot with(long id, Item item) {
+            Object[] newRoot = root;
+            int newShift = shift;
+            while (!fits(id, newShift)) {
+                Object[] grown = new Object[WIDTH];
+                grown[0] = newRoot;
+                newRoot = grown;
+                newShift += BITS;
+            }
+            long newSize = get(id) == null ? size + 1 : size;
+            return new Snapshot(assoc(newRoot, newShift, id, item), newShift, newSize);
+        }
+
+        //바뀌는 경로의 노드만 복사한다. 나머지 노드는 이전 스냅샷과 함께 쓴다.
+        private static Object[] assoc(Object[] node, int level, long id, Item item) {
+            Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+            int slot = slot(id, level);
+            copy[slot] = level == 0 ? item : assoc((Object[]) copy[slot], level - BITS, id, item);
+            return copy;
+        }
+
+        //from 이상인 ID 의 상품을 ID 순으로 action 에 넘긴다. action 이 false 를 반환하면 멈춘다.
+        private static boolean scan(Object[] node, int level, long from, Predicate<Item> action) {
+            int first = slot(from, level);
+            for (int slot = first; slot < WIDTH; slot++) {
+                Object child = node[slot];
+                if (child == null) {
+                    continue;
+                }
+                boolean more = level == 0
+                        ? action.test((Item) child)
+                        : scan((Object[]) child, level - BITS, slot == first ? from : 0, action);
+                if (!more) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean fits(long id, int shift) {
+            return shift + BITS >= Long.SIZE || (id >>> (shift + BITS)) == 0;
+        }
+
+        private static int slot(long id, int level) {
+            return (int) (id >>> level) & MASK;
+        }
+    }
+}
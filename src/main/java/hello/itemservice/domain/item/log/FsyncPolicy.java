@@ -0,0 +1,11 @@
+package hello.itemservice.domain.item.log;
+
+/*
+*  [fsync 정책]
+*  - ALWAYS   : save/update 가 반환되기 전에 디스크에 기록된다. 동시에 들어온 기록은 한 번의 fsync 로 묶는다. (group commit)
+*  - INTERVAL : 백그라운드에서 주기적으로 fsync 한다. 장애시 마지막 주기만큼 유실될 수 있다.
+*  - NONE     : fsync 하지 않는다. (OS 에 맡긴다) 프로세스 장애는 견디지만 OS 장애시 유실될 수 있다.
+* */
+public enum FsyncPolicy {
+    ALWAYS, INTERVAL, NONE
+}
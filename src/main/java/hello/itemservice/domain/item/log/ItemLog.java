@@ -0,0 +1,360 @@
+package hello.itemservice.domain.item.log;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemJournal;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+*  [Append-only 상품 로그]
+*  save, update 마다 상품의 전체 상태를 세그먼트 파일의 끝에 추가한다. 파일을 수정하지 않고 추가만 하므로 빠르고 안전하다.
+*
+*  - 세그먼트 : 파일이 segmentSize 를 넘으면 새 세그먼트(00000000000000000002.log ...)로 넘어간다.
+*  - 체크섬   : 레코드마다 CRC32 를 기록해서, 장애로 잘린 마지막 레코드는 복구시 버린다.
+*  - group commit : fsync 정책이 ALWAYS 일 때, fsync 를 기다리는 쓰레드 중 하나(리더)가 그동안 쌓인 기록을 한 번에 fsync 한다.
+*  - 복구     : 세그먼트를 메모리 매핑(mmap)해서 순서대로 재생한다.
+*  - 압축     : 현재 세그먼트를 봉인하고, 살아있는 상품만 새 파일에 써서 봉인된 세그먼트들을 대체한다.
+*              재생해야 할 로그가 상품 수에 비례하게 유지된다.
+*
+*  [락 순서]
+*  syncLock -> writeLock 순서로만 잡는다.
+* */
+@Slf4j
+public class ItemLog implements ItemJournal, Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long segmentSize;
+    private final Duration fsyncInterval;
+
+    private final Object syncLock = new Object();
+    private final Object writeLock = new Object();
+    private final AtomicLong syncedTicket = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "item-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //writeLock 으로 보호
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private FileChannel channel;
+    private long segmentNo;
+    private long segmentBytes;
+    private long appendedTicket;
+    private long writtenTicket;
+    private boolean closed;
+
+    public ItemLog(Path directory, FsyncPolicy fsyncPolicy, long segmentSize, Duration fsyncInterval) {
+        if (segmentSize <= ItemLogCodec.HEADER_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize 는 " + Integer.MAX_VALUE + " 바이트 이하여야 합니다.");
+        }
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.segmentSize = segmentSize;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    /**
+     * 기존 세그먼트를 순서대로 재생한 뒤 새 세그먼트를 열어 기록을 시작한다.
+     *
+     * @return 재생한 레코드 수
+     */
+    public long recover(Consumer<Item> consumer) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments();
+
+        long records = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            records += replaySegment(segments.get(i), i == segments.size() - 1, consumer);
+        }
+
+        long lastSegmentNo = segments.isEmpty() ? 0 : segmentNo(segments.get(segments.size() - 1));
+        synchronized (writeLock) {
+            openSegment(lastSegmentNo + 1);
+        }
+
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+            long intervalMillis = fsyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return records;
+    }
+
+    /**
+     * 주기적으로 압축을 실행한다. liveItems 는 살아있는 상품을 하나씩 넘겨주는 함수이다. (ex: ItemRepository::forEach)
+     */
+    public void scheduleCompaction(Duration interval, Consumer<Consumer<Item>> liveItems) {
+        long intervalMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compact(liveItems);
+            } catch (Exception e) {
+                log.error("item log 압축 실패", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long append(Item item) {
+        byte[] name = ItemLogCodec.nameBytes(item);
+        int recordSize = ItemLogCodec.recordSize(name);
+
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                if (buffer.remaining() < recordSize) {
+                    writeBuffer();
+                    if (buffer.capacity() < recordSize) {
+                        buffer = ByteBuffer.allocate(recordSize);
+                    }
+                }
+                ItemLogCodec.encode(item, name, buffer);
+                segmentBytes += recordSize;
+                long ticket = ++appendedTicket;
+
+                if (segmentBytes >= segmentSize) {
+                    rollSegment();
+                }
+                return ticket;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void sync(long ticket) {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS || syncedTicket.get() >= ticket) {
+            return;
+        }
+        synchronized (syncLock) {
+            //기다리는 동안 앞선 리더가 이 ticket 까지 fsync 했다면 바로 반환한다. (group commit)
+            if (syncedTicket.get() >= ticket) {
+                return;
+            }
+            flush(true);
+        }
+    }
+
+    /**
+     * 봉인된 세그먼트들을 살아있는 상품만 담은 하나의 세그먼트로 대체한다.
+     */
+    public void compact(Consumer<Consumer<Item>> liveItems) throws IOException {
+        long sealedSegmentNo;
+        synchronized (writeLock) {
+            ensureOpen();
+            rollSegment();
+            sealedSegmentNo = segmentNo - 1;
+        }
+
+        //roll 이전의 기록은 모두 메모리에 반영된 뒤에 로그에 추가되었으므로, 지금 읽는 상품 상태에 포함되어 있다.
+        Path compacting = directory.resolve("compacting.tmp");
+        long[] count = {0};
+        try (FileChannel out = FileChannel.open(compacting,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer compactBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+            ItemLogCodec.writeHeader(compactBuffer);
+            liveItems.accept(item -> {
+                byte[] name = ItemLogCodec.nameBytes(item);
+                int recordSize = ItemLogCodec.recordSize(name);
+                try {
+                    if (compactBuffer.remaining() < recordSize) {
+                        writeFully(out, compactBuffer);
+                    }
+                    if (compactBuffer.remaining() < recordSize) {
+                        ByteBuffer large = ByteBuffer.allocate(recordSize);
+                        ItemLogCodec.encode(item, name, large);
+                        writeFully(out, large);
+                    } else {
+                        ItemLogCodec.encode(item, name, compactBuffer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            writeFully(out, compactBuffer);
+            out.force(true);
+        }
+
+        Files.move(compacting, segmentPath(sealedSegmentNo),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path segment : listSegments()) {
+            if (segmentNo(segment) < sealedSegmentNo) {
+                Files.deleteIfExists(segment);
+            }
+        }
+        log.info("item log 압축 완료 segment={} items={}", sealedSegmentNo, count[0]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                if (closed || channel == null) {
+                    closed = true;
+                    return;
+                }
+                writeBuffer();
+                channel.force(false);
+                channel.close();
+                closed = true;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            synchronized (syncLock) {
+                flush(fsyncPolicy == FsyncPolicy.INTERVAL);
+            }
+        } catch (Exception e) {
+            log.error("item log flush 실패", e);
+        }
+    }
+
+    //syncLock 을 잡은 상태에서 호출한다.
+    private void flush(boolean force) {
+        FileChannel target;
+        long upTo;
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            target = channel;
+            upTo = writtenTicket;
+        }
+        if (!force) {
+            return;
+        }
+
+        //fsync 하는 동안에는 writeLock 을 놓아두기 때문에 다른 쓰레드는 계속 append 할 수 있다.
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            //그 사이 세그먼트가 교체되었다. 교체될 때 이미 force 되었다.
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        syncedTicket.accumulateAndGet(upTo, Math::max);
+    }
+
+    //writeLock 을 잡은 상태에서 호출한다.
+    private void writeBuffer() throws IOException {
+        writeFully(channel, buffer);
+        writtenTicket = appendedTicket;
+    }
+
+    //writeLock 을 잡은 상태에서 호출한다.
+    private void rollSegment() throws IOException {
+        writeBuffer();
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            channel.force(false);
+            syncedTicket.accumulateAndGet(writtenTicket, Math::max);
+        }
+        channel.close();
+        openSegment(segmentNo + 1);
+    }
+
+    //writeLock 을 잡은 상태에서 호출한다.
+    private void openSegment(long no) throws IOException {
+        FileChannel newChannel = FileChannel.open(segmentPath(no),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(ItemLogCodec.HEADER_SIZE);
+        ItemLogCodec.writeHeader(header);
+        writeFully(newChannel, header);
+
+        channel = newChannel;
+        segmentNo = no;
+        segmentBytes = ItemLogCodec.HEADER_SIZE;
+    }
+
+    private void ensureOpen() {
+        if (closed || channel == null) {
+            throw new IllegalStateException("item log 가 열려있지 않습니다.");
+        }
+    }
+
+    private long replaySegment(Path segment, boolean last, Consumer<Item> consumer) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = readChannel.size();
+            if (size < ItemLogCodec.HEADER_SIZE && last) {
+                //세그먼트를 만든 직후 헤더를 쓰기 전에 중단된 경우
+                readChannel.close();
+                Files.delete(segment);
+                return 0;
+            }
+
+            MappedByteBuffer mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long[] count = {0};
+            int validEnd = ItemLogCodec.readRecords(mapped, item -> {
+                consumer.accept(item);
+                count[0]++;
+            });
+
+            if (validEnd < size) {
+                if (!last) {
+                    throw new IllegalStateException("손상된 item log 세그먼트 " + segment + " offset=" + validEnd);
+                }
+                log.warn("item log 마지막 세그먼트의 잘린 레코드를 버립니다. segment={} offset={}", segment, validEnd);
+                readChannel.truncate(validEnd);
+            }
+            return count[0];
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(segmentNo(a), segmentNo(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long no) {
+        return directory.resolve(String.format("%020d%s", no, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNo(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer source) throws IOException {
+        source.flip();
+        while (source.hasRemaining()) {
+            target.write(source);
+        }
+        source.clear();
+    }
+}
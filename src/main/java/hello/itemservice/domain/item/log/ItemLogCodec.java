@@ -0,0 +1,147 @@
+package hello.itemservice.domain.item.log;
+
+import hello.itemservice.domain.item.Item;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [로그 파일 포맷]
+*  세그먼트 헤더 : magic(int) + format version(int)
+*  레코드       : payload 길이(int) + payload CRC32(int) + payload
+*  payload     : id(long) + null flags(byte) + price(int) + quantity(int) + version(long) + 상품명 길이(int) + 상품명(UTF-8)
+*
+*  format version 1 에는 version 이 없다. 1 로 기록된 세그먼트도 읽을 수 있다. (version = null -> 복구할 때 ItemRepository 가 다시 매긴다)
+*  복구 후에는 항상 새 세그먼트를 열어서 현재 포맷으로만 기록한다.
+*
+*  레코드에는 상품의 전체 상태를 기록하므로, 재생(replay)할 때는 같은 ID 의 마지막 레코드가 최종 상태가 된다.
+* */
+final class ItemLogCodec {
+
+    static final int MAGIC = 0x49544C47; // "ITLG"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+
+    private static final int FIXED_PAYLOAD_SIZE_V1 = 8 + 1 + 4 + 4 + 4;
+    private static final int FIXED_PAYLOAD_SIZE = FIXED_PAYLOAD_SIZE_V1 + 8;
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 1 << 1;
+    private static final byte QUANTITY_NULL = 1 << 2;
+
+    private ItemLogCodec() {
+    }
+
+    static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+    }
+
+    static byte[] nameBytes(Item item) {
+        return item.getItemName() == null ? null : item.getItemName().getBytes(UTF_8);
+    }
+
+    static int recordSize(byte[] name) {
+        return RECORD_HEADER_SIZE + FIXED_PAYLOAD_SIZE + (name == null ? 0 : name.length);
+    }
+
+    static void encode(Item item, byte[] name, ByteBuffer buffer) {
+        int recordStart = buffer.position();
+        int payloadStart = recordStart + RECORD_HEADER_SIZE;
+        buffer.position(payloadStart);
+
+        byte flags = 0;
+        if (name == null) {
+            flags |= NAME_NULL;
+        }
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        }
+        buffer.putLong(item.getId());
+        buffer.put(flags);
+        buffer.putInt(item.getPrice() == null ? 0 : item.getPrice());
+        buffer.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+        buffer.putLong(item.getVersion() == null ? 0 : item.getVersion());
+        buffer.putInt(name == null ? 0 : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+
+        int payloadLength = buffer.position() - payloadStart;
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(payloadStart);
+        payload.limit(payloadStart + payloadLength);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        buffer.putInt(recordStart, payloadLength);
+        buffer.putInt(recordStart + 4, (int) crc.getValue());
+    }
+
+    /**
+     * 세그먼트의 레코드를 순서대로 읽는다.
+     * 길이나 체크섬이 맞지 않는 레코드를 만나면 멈추고, 마지막으로 온전했던 레코드의 끝 위치를 반환한다.
+     */
+    static int readRecords(ByteBuffer buffer, Consumer<Item> consumer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalStateException("item log 세그먼트가 아닙니다.");
+        }
+        int formatVersion = buffer.getInt();
+        if (formatVersion != 1 && formatVersion != FORMAT_VERSION) {
+            throw new IllegalStateException("지원하지 않는 item log 포맷입니다. version=" + formatVersion);
+        }
+        boolean hasVersion = formatVersion >= 2;
+        int fixedPayloadSize = hasVersion ? FIXED_PAYLOAD_SIZE : FIXED_PAYLOAD_SIZE_V1;
+
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int recordStart = buffer.position();
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadLength < fixedPayloadSize || payloadLength > buffer.remaining()) {
+                return recordStart;
+            }
+
+            ByteBuffer payload = buffer.slice();
+            payload.limit(payloadLength);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                return recordStart;
+            }
+
+            consumer.accept(decode(payload, hasVersion));
+            buffer.position(recordStart + RECORD_HEADER_SIZE + payloadLength);
+        }
+        return buffer.position();
+    }
+
+    private static Item decode(ByteBuffer payload, boolean hasVersion) {
+        long id = payload.getLong();
+        byte flags = payload.get();
+        int price = payload.getInt();
+        int quantity = payload.getInt();
+        long version = hasVersion ? payload.getLong() : 0;
+        int nameLength = payload.getInt();
+
+        String itemName = null;
+        if ((flags & NAME_NULL) == 0) {
+            byte[] name = new byte[nameLength];
+            payload.get(name);
+            itemName = new String(name, UTF_8);
+        }
+
+        Item item = new Item(itemName,
+                (flags & PRICE_NULL) == 0 ? price : null,
+                (flags & QUANTITY_NULL) == 0 ? quantity : null);
+        item.setId(id);
+        item.setVersion(version == 0 ? null : version);
+        return item;
+    }
+}
@@ -0,0 +1,203 @@
+package hello.itemservice.domain.item.snapshot;
+
+import hello.itemservice.domain.item.Item;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [스냅샷 파일 포맷]
+*  헤더    : magic(int) + format version(int)
+*  섹션    : 상품 레코드를 SECTION_ITEMS 개씩 이어붙인 구간. 섹션 단위로 CRC32 를 검사하고, 섹션끼리는 따로 디코딩할 수 있다.
+*  레코드  : id(long) + null flags(byte) + price(int) + quantity(int) + version(long) + 상품명 길이(int) + 상품명(UTF-8)
+*  섹션 표 : 섹션마다 offset(long) + length(int) + 상품 수(int) + CRC32(int)
+*  트레일러 : 섹션 표 offset(long) + 섹션 수(int) + 전체 상품 수(long) + ID 시퀀스(long) + magic(int)
+*
+*  섹션 표와 트레일러는 모든 섹션을 쓴 뒤에 마지막에 쓴다. (상품 수를 미리 몰라도 한 번에 순서대로 쓸 수 있다)
+*  트레일러가 온전하지 않으면 쓰는 도중에 끊긴 파일이다.
+* */
+final class ItemSnapshotCodec {
+
+    static final int MAGIC = 0x4954534E; // "ITSN"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int SECTION_ITEMS = 64 * 1024;
+    static final int SECTION_ENTRY_SIZE = 8 + 4 + 4 + 4;
+    static final int TRAILER_SIZE = 8 + 4 + 8 + 8 + 4;
+
+    private static final int FIXED_RECORD_SIZE = 8 + 1 + 4 + 4 + 8 + 4;
+    private static final byte NAME_NULL = 1;
+    private static final byte PRICE_NULL = 1 << 1;
+    private static final byte QUANTITY_NULL = 1 << 2;
+
+    private ItemSnapshotCodec() {
+    }
+
+    static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+    }
+
+    static int recordSize(byte[] name) {
+        return FIXED_RECORD_SIZE + (name == null ? 0 : name.length);
+    }
+
+    static void encode(Item item, byte[] name, ByteBuffer buffer) {
+        byte flags = 0;
+        if (name == null) {
+            flags |= NAME_NULL;
+        }
+        if (item.getPrice() == null) {
+            flags |= PRICE_NULL;
+        }
+        if (item.getQuantity() == null) {
+            flags |= QUANTITY_NULL;
+        }
+        buffer.putLong(item.getId());
+        buffer.put(flags);
+        buffer.putInt(item.getPrice() == null ? 0 : item.getPrice());
+        buffer.putInt(item.getQuantity() == null ? 0 : item.getQuantity());
+        buffer.putLong(item.getVersion() == null ? 0 : item.getVersion());
+        buffer.putInt(name == null ? 0 : name.length);
+        if (name != null) {
+            buffer.put(name);
+        }
+    }
+
+    static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        return (int) crc.getValue();
+    }
+
+    static void writeSectionTable(List<Section> sections, long itemCount, long sequence, long tableOffset, ByteBuffer buffer) {
+        for (Section section : sections) {
+            buffer.putLong(section.offset);
+            buffer.putInt(section.length);
+            buffer.putInt(section.count);
+            buffer.putInt(section.checksum);
+        }
+        buffer.putLong(tableOffset);
+        buffer.putInt(sections.size());
+        buffer.putLong(itemCount);
+        buffer.putLong(sequence);
+        buffer.putInt(MAGIC);
+    }
+
+    /**
+     * 헤더와 트레일러를 확인하고 섹션 표를 읽는다.
+     */
+    static Trailer readTrailer(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            throw new IllegalStateException("상품 스냅샷 파일이 아닙니다.");
+        }
+        ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IllegalStateException("상품 스냅샷 파일이 아닙니다.");
+        }
+        int formatVersion = header.getInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalStateException("지원하지 않는 상품 스냅샷 포맷입니다. version=" + formatVersion);
+        }
+
+        ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+        long tableOffset = trailer.getLong();
+        int sectionCount = trailer.getInt();
+        long itemCount = trailer.getLong();
+        long sequence = trailer.getLong();
+        if (trailer.getInt() != MAGIC || sectionCount < 0
+                || tableOffset + (long) sectionCount * SECTION_ENTRY_SIZE != size - TRAILER_SIZE) {
+            throw new IllegalStateException("상품 스냅샷 파일이 온전하지 않습니다. (쓰는 도중에 끊긴 파일)");
+        }
+
+        ByteBuffer table = readFully(channel, tableOffset, sectionCount * SECTION_ENTRY_SIZE);
+        List<Section> sections = new ArrayList<>(sectionCount);
+        for (int i = 0; i < sectionCount; i++) {
+            sections.add(new Section(table.getLong(), table.getInt(), table.getInt(), table.getInt()));
+        }
+        return new Trailer(sections, itemCount, sequence);
+    }
+
+    /**
+     * 섹션의 CRC32 를 확인하고 상품을 순서대로 디코딩한다.
+     */
+    static List<Item> decodeSection(ByteBuffer buffer, Section section) {
+        if (checksum(buffer) != section.checksum) {
+            throw new IllegalStateException("상품 스냅샷 섹션의 체크섬이 맞지 않습니다. offset=" + section.offset);
+        }
+        List<Item> items = new ArrayList<>(section.count);
+        for (int i = 0; i < section.count; i++) {
+            items.add(decode(buffer));
+        }
+        return items;
+    }
+
+    private static Item decode(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        byte flags = buffer.get();
+        int price = buffer.getInt();
+        int quantity = buffer.getInt();
+        long version = buffer.getLong();
+        int nameLength = buffer.getInt();
+
+        String itemName = null;
+        if ((flags & NAME_NULL) == 0) {
+            byte[] name = new byte[nameLength];
+            buffer.get(name);
+            itemName = new String(name, UTF_8);
+        }
+
+        Item item = new Item(itemName,
+                (flags & PRICE_NULL) == 0 ? price : null,
+                (flags & QUANTITY_NULL) == 0 ? quantity : null);
+        item.setId(id);
+        item.setVersion(version == 0 ? null : version);
+        return item;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IllegalStateException("상품 스냅샷 파일이 온전하지 않습니다. (예상보다 짧은 파일)");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    static final class Section {
+
+        final long offset;
+        final int length;
+        final int count;
+        final int checksum;
+
+        Section(long offset, int length, int count, int checksum) {
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+            this.checksum = checksum;
+        }
+    }
+
+    static final class Trailer {
+
+        final List<Section> sections;
+        final long itemCount;
+        final long sequence;
+
+        Trailer(List<Section> sections, long itemCount, long sequence) {
+            this.sections = sections;
+            this.itemCount = itemCount;
+            this.sequence = sequence;
+        }
+    }
+}
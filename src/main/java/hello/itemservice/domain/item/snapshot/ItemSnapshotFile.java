@@ -0,0 +1,228 @@
+package hello.itemservice.domain.item.snapshot;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.snapshot.ItemSnapshotCodec.Section;
+import hello.itemservice.domain.item.snapshot.ItemSnapshotCodec.Trailer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [상품 스냅샷 파일]
+*  저장소 전체를 바이너리 파일 하나로 저장하고, 시작할 때 다시 적재한다. (재시작해도 데이터가 채워진 상태로 바로 뜬다)
+*
+*  - 쓰기 : ItemRepository.forEach(한 시점의 스냅샷)를 섹션 단위로 인코딩해서 FileChannel 로 임시 파일에 쓰고,
+*          fsync 후 원자적으로 이름을 바꾼다. 쓰는 도중에 죽어도 이전 스냅샷 파일은 그대로 남는다.
+*  - 읽기 : 섹션마다 메모리 매핑(mmap)해서 병렬로 디코딩하고, ItemRepository.load 로 한 번에 적재한다. (ID 시퀀스 포함)
+*  - 주기 : attach 하면 interval 마다 저장하고, close(애플리케이션 종료) 할 때 마지막으로 한 번 더 저장한다.
+*
+*  포맷은 ItemSnapshotCodec 참고
+* */
+@Slf4j
+public class ItemSnapshotFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int SECTION_BYTES = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "item-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile ItemRepository attached;
+
+    public ItemSnapshotFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * 스냅샷 파일을 비어있는 저장소에 적재한다.
+     *
+     * @return 적재한 상품 수, 파일이 없으면 0
+     */
+    public long load(ItemRepository itemRepository) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Trailer trailer = ItemSnapshotCodec.readTrailer(channel);
+            List<List<Item>> sections = trailer.sections.parallelStream()
+                    .map(section -> decode(channel, section))
+                    .collect(Collectors.toList());
+
+            List<Item> items = new ArrayList<>((int) Math.min(trailer.itemCount, Integer.MAX_VALUE));
+            for (List<Item> section : sections) {
+                items.addAll(section);
+            }
+            if (items.size() != trailer.itemCount) {
+                throw new IllegalStateException("상품 스냅샷의 상품 수가 맞지 않습니다. expected="
+                        + trailer.itemCount + ", actual=" + items.size());
+            }
+            itemRepository.load(items, trailer.sequence);
+            return items.size();
+        }
+    }
+
+    /**
+     * 저장소의 현재 상태를 스냅샷 파일로 저장한다.
+     *
+     * @return 저장한 상품 수
+     */
+    public long write(ItemRepository itemRepository) throws IOException {
+        synchronized (writeLock) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            long count;
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                SectionWriter writer = new SectionWriter(channel);
+                try {
+                    itemRepository.forEach(writer::add);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                //순회가 끝난 뒤의 시퀀스는 스냅샷에 담긴 모든 ID 이상이다.
+                count = writer.finish(itemRepository.getSequence());
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        }
+    }
+
+    /**
+     * interval 마다(0 이면 주기 저장 없음), 그리고 close 할 때 itemRepository 를 저장한다.
+     */
+    public void attach(ItemRepository itemRepository, Duration interval) {
+        this.attached = itemRepository;
+        long intervalMillis = interval.toMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                writeAttached();
+            } catch (Exception e) {
+                log.error("상품 스냅샷 저장 실패", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        if (attached != null) {
+            writeAttached();
+        }
+    }
+
+    private void writeAttached() throws IOException {
+        long start = System.nanoTime();
+        long count = write(attached);
+        log.info("상품 스냅샷 저장 items={} elapsed={}ms file={}", count, (System.nanoTime() - start) / 1_000_000, file);
+    }
+
+    private static List<Item> decode(FileChannel channel, Section section) {
+        try {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, section.offset, section.length);
+            return ItemSnapshotCodec.decodeSection(buffer, section);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class SectionWriter {
+
+        private final FileChannel channel;
+        private final List<Section> sections = new ArrayList<>();
+        private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long position;
+        private int sectionCount;
+        private long itemCount;
+
+        SectionWriter(FileChannel channel) throws IOException {
+            this.channel = channel;
+            ByteBuffer header = ByteBuffer.allocate(ItemSnapshotCodec.HEADER_SIZE);
+            ItemSnapshotCodec.writeHeader(header);
+            header.flip();
+            writeFully(header);
+        }
+
+        void add(Item item) {
+            byte[] name = item.getItemName() == null ? null : item.getItemName().getBytes(UTF_8);
+            int recordSize = ItemSnapshotCodec.recordSize(name);
+            if (buffer.remaining() < recordSize) {
+                grow(recordSize);
+            }
+            ItemSnapshotCodec.encode(item, name, buffer);
+            sectionCount++;
+            itemCount++;
+            if (sectionCount == ItemSnapshotCodec.SECTION_ITEMS || buffer.position() >= SECTION_BYTES) {
+                try {
+                    flushSection();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        long finish(long sequence) throws IOException {
+            flushSection();
+            ByteBuffer table = ByteBuffer.allocate(
+                    sections.size() * ItemSnapshotCodec.SECTION_ENTRY_SIZE + ItemSnapshotCodec.TRAILER_SIZE);
+            ItemSnapshotCodec.writeSectionTable(sections, itemCount, sequence, position, table);
+            table.flip();
+            writeFully(table);
+            return itemCount;
+        }
+
+        //섹션은 한 번에 디코딩할 수 있도록 버퍼 하나에 모아서 쓴다.
+        private void grow(int recordSize) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + recordSize));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+
+        private void flushSection() throws IOException {
+            if (sectionCount == 0) {
+                return;
+            }
+            buffer.flip();
+            int length = buffer.remaining();
+            sections.add(new Section(position, length, sectionCount, ItemSnapshotCodec.checksum(buffer)));
+            writeFully(buffer);
+            buffer.clear();
+            sectionCount = 0;
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package hello.itemservice.message;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+*  [미리 컴파일한 메시지]
+*  MessageFormat 은 쓰레드에 안전하지 않아서 스프링은 format 할 때마다 MessageFormat 객체에 synchronized 를 건다.
+*  여러 쓰레드가 같은 오류 메시지를 동시에 렌더링하면 이 락에서 줄을 선다.
+*
+*  대부분의 메시지는 "가격은 {0} ~ {1} 까지 허용합니다." 처럼 단순한 {n} 만 사용하므로,
+*  처음 한 번 문자열 조각과 인자 번호로 나누어 두고 format 할 때는 이어붙이기만 한다. (공유하는 가변 상태가 없다)
+*  인자는 MessageFormat 과 같은 규칙으로 문자열로 바꾼다. (숫자 -> 로케일 NumberFormat, 날짜 -> SHORT 날짜/시간)
+*
+*  작은따옴표(') 이스케이프나 {0,number,#} 같은 형식 지정이 있으면 MessageFormat 원본을 두고 매번 복제해서 사용한다.
+* */
+final class CompiledMessage {
+
+    private static final Map<Locale, ThreadLocal<NumberFormat>> NUMBER_FORMATS = new ConcurrentHashMap<>();
+
+    private final String raw;
+    private final Locale locale;
+    private final String[] literals;    // literals[i] 다음에 arguments[i] 가 온다. (마지막 조각은 인자가 없다)
+    private final int[] arguments;
+    private final MessageFormat prototype;
+
+    private CompiledMessage(String raw, Locale locale, String[] literals, int[] arguments, MessageFormat prototype) {
+        this.raw = raw;
+        this.locale = locale;
+        this.literals = literals;
+        this.arguments = arguments;
+        this.prototype = prototype;
+    }
+
+    static CompiledMessage compile(String raw, Locale locale) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < raw.length()) {
+            char ch = raw.charAt(i);
+            if (ch == '\'') {
+                return complex(raw, locale);
+            }
+            if (ch != '{') {
+                literal.append(ch);
+                i++;
+                continue;
+            }
+            int end = raw.indexOf('}', i);
+            if (end < 0 || end == i + 1 || !isDigits(raw, i + 1, end)) {
+                return complex(raw, locale);
+            }
+            literals.add(literal.toString());
+            arguments.add(Integer.parseInt(raw.substring(i + 1, end)));
+            literal.setLength(0);
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+        return new CompiledMessage(raw, locale, literals.toArray(new String[0]),
+                arguments.stream().mapToInt(Integer::intValue).toArray(), null);
+    }
+
+    private static CompiledMessage complex(String raw, Locale locale) {
+        MessageFormat prototype;
+        try {
+            prototype = new MessageFormat(raw, locale);
+        } catch (IllegalArgumentException e) {
+            //형식이 잘못된 메시지는 인자 없이 원문 그대로 사용한다. (스프링의 기본 메시지 처리와 같다)
+            prototype = null;
+        }
+        return new CompiledMessage(raw, locale, null, null, prototype);
+    }
+
+    private static boolean isDigits(String raw, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(raw.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 인자 없이 조회하면 원문을 그대로 사용한다. (MessageFormat 을 거치지 않는다)
+     */
+    String getRaw() {
+        return raw;
+    }
+
+    String format(Object[] args) {
+        if (literals == null) {
+            if (prototype == null) {
+                return raw;
+            }
+            return ((MessageFormat) prototype.clone()).format(args);
+        }
+
+        StringBuilder sb = new StringBuilder(raw.length() + 16);
+        for (int i = 0; i < arguments.length; i++) {
+            sb.append(literals[i]);
+            appendArgument(sb, args, arguments[i]);
+        }
+        sb.append(literals[arguments.length]);
+        return sb.toString();
+    }
+
+    //MessageFormat.subformat 과 같은 규칙
+    private void appendArgument(StringBuilder sb, Object[] args, int index) {
+        if (args == null || index >= args.length) {
+            sb.append('{').append(index).append('}');
+            return;
+        }
+        Object arg = args[index];
+        if (arg == null) {
+            sb.append("null");
+        } else if (arg instanceof Number) {
+            sb.append(numberFormat(locale).format(arg));
+        } else if (arg instanceof Date) {
+            sb.append(DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(arg));
+        } else if (arg instanceof String) {
+            sb.append((String) arg);
+        } else {
+            sb.append(arg);
+        }
+    }
+
+    private static NumberFormat numberFormat(Locale locale) {
+        return NUMBER_FORMATS.computeIfAbsent(locale, key -> ThreadLocal.withInitial(() -> NumberFormat.getInstance(key))).get();
+    }
+}
@@ -0,0 +1,13 @@
+package hello.itemservice.message;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 메시지 파일이 바뀌어서 다시 읽었을 때 발행한다. (메시지 코드 캐시 등을 비운다)
+ */
+public class MessageSourceReloadedEvent extends ApplicationEvent {
+
+    public MessageSourceReloadedEvent(Object source) {
+        super(source);
+    }
+}
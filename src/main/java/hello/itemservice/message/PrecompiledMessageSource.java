@@ -0,0 +1,423 @@
+package hello.itemservice.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ObjectUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [미리 컴파일한 MessageSource]
+*  ResourceBundleMessageSource 는 메시지를 찾을 때마다 basename 별 ResourceBundle 을 뒤지고,
+*  인자가 있으면 캐시된 MessageFormat 에 synchronized 를 걸고 format 한다.
+*
+*  이 MessageSource 는 시작할 때 basename(messages, errors)의 파일을 읽어서 기본 로케일의 메시지를 미리 컴파일해둔다.
+*  로케일별로 "basename 순서 + 로케일 부모 체인" 을 한 번 계산해서 코드 -> CompiledMessage 의 불변 Map 으로 만들고,
+*  이후에는 Map 조회 한 번으로 끝낸다. (처음 보는 로케일은 첫 요청에서 한 번 계산한다. 조회에는 락이 없다)
+*
+*  [로케일 캐시 상한]
+*  로케일은 요청의 Accept-Language 로 정해지므로 로케일마다 Map 을 만들면 끝없이 커질 수 있다.
+*  LOCALE_CACHE_LIMIT 개까지만 요청 로케일별로 만들고, 그 뒤로 처음 보는 로케일은 메시지 파일이 있는 가장 가까운 로케일의 Map 을 함께 쓴다.
+*  (ko_KR_X -> ko_KR -> ko 중 파일이 있는 로케일, 하나도 없으면 시스템 로케일) 메시지는 같고, 숫자, 날짜 형식만 그 로케일을 따른다.
+*
+*  [ResourceBundleMessageSource 와 같은 규칙]
+*  - 앞쪽 basename 이 우선, 같은 basename 안에서는 구체적인 로케일이 우선 (ko_KR -> ko -> 기본 파일)
+*  - 요청 로케일의 파일이 하나도 없으면 시스템 로케일 파일을 사용한다. (fallbackToSystemLocale)
+*  - 인자가 없으면 원문 그대로, 인자가 있으면 MessageFormat 규칙으로 format 한다. (alwaysUseMessageFormat)
+*  - MessageSourceResolvable 인자는 먼저 메시지로 바꾼다. (FieldError 의 필드명 인자 등)
+*
+*  [다시 읽기]
+*  reloadInterval 마다 읽었던 파일(없었던 파일 포함)의 수정 시간을 확인하고, 바뀌었으면 전부 다시 읽어서 통째로 교체한다. (volatile 참조 교체)
+*  읽는 쪽은 항상 이전 또는 새 스냅샷 중 하나를 온전히 본다.
+* */
+@Slf4j
+public class PrecompiledMessageSource implements MessageSource, ApplicationEventPublisherAware, Closeable {
+
+    static final int LOCALE_CACHE_LIMIT = 64;
+    private static final int DEFAULT_MESSAGE_CACHE_LIMIT = 1024;
+    //없는 파일도 기억해야 다시 읽기에서 새로 생긴 파일을 알아챈다. 처음 보는 로케일이 계속 들어와도 커지지 않도록 개수를 제한한다.
+    private static final int FILE_CACHE_LIMIT = 1024;
+
+    private final List<String> basenames;
+    private final Charset encoding;
+    private final boolean fallbackToSystemLocale;
+    private final boolean alwaysUseMessageFormat;
+    private final boolean useCodeAsDefaultMessage;
+    private final ResourceLoader resourceLoader;
+
+    private volatile Snapshot snapshot;
+    //기본 메시지(Bean Validation 메시지 등)도 인자가 있으면 format 해야 하므로 컴파일 결과를 캐시한다. (개수 제한)
+    private final Map<Locale, Map<String, CompiledMessage>> defaultMessages = new ConcurrentHashMap<>();
+
+    private ApplicationEventPublisher eventPublisher;
+    private ScheduledExecutorService reloader;
+
+    public PrecompiledMessageSource(List<String> basenames, Charset encoding, boolean fallbackToSystemLocale,
+                                    boolean alwaysUseMessageFormat, boolean useCodeAsDefaultMessage) {
+        this.basenames = List.copyOf(basenames);
+        this.encoding = encoding;
+        this.fallbackToSystemLocale = fallbackToSystemLocale;
+        this.alwaysUseMessageFormat = alwaysUseMessageFormat;
+        this.useCodeAsDefaultMessage = useCodeAsDefaultMessage;
+        this.resourceLoader = new DefaultResourceLoader(PrecompiledMessageSource.class.getClassLoader());
+        this.snapshot = load(List.of());
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 백그라운드에서 interval 마다 파일 변경을 확인한다.
+     */
+    public void startReloading(Duration interval) {
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-source-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = Math.max(1, interval.toMillis());
+        reloader.scheduleWithFixedDelay(this::reloadIfModified, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 파일이 바뀌었으면 다시 읽는다. 바뀌었으면 true
+     */
+    public boolean reloadIfModified() {
+        try {
+            Snapshot current = snapshot;
+            if (!current.isModified()) {
+                return false;
+            }
+            snapshot = load(current.messagesByLocale.keySet());
+            defaultMessages.clear();
+            log.info("메시지 파일 다시 읽기 완료 locales={}", current.messagesByLocale.keySet());
+            if (eventPublisher != null) {
+                eventPublisher.publishEvent(new MessageSourceReloadedEvent(this));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            //다시 읽기에 실패하면 이전 스냅샷을 계속 사용한다.
+            log.warn("메시지 파일 다시 읽기 실패", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        if (defaultMessage == null) {
+            return getDefaultMessage(code);
+        }
+        return renderDefaultMessage(defaultMessage, args, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        String fallback = getDefaultMessage(code);
+        if (fallback != null) {
+            return fallback;
+        }
+        throw new NoSuchMessageException(code, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                String message = getMessageInternal(code, resolvable.getArguments(), locale);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+        String defaultMessage = getDefaultMessage(resolvable, locale);
+        if (defaultMessage != null) {
+            return defaultMessage;
+        }
+        throw new NoSuchMessageException(!ObjectUtils.isEmpty(codes) ? codes[codes.length - 1] : "", locale);
+    }
+
+    private String getMessageInternal(String code, Object[] args, Locale locale) {
+        if (code == null) {
+            return null;
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        CompiledMessage message = snapshot.messages(locale).get(code);
+        if (message == null) {
+            return null;
+        }
+        if (!alwaysUseMessageFormat && ObjectUtils.isEmpty(args)) {
+            return message.getRaw();
+        }
+        return message.format(resolveArguments(args, locale));
+    }
+
+    private String getDefaultMessage(MessageSourceResolvable resolvable, Locale locale) {
+        String defaultMessage = resolvable.getDefaultMessage();
+        String[] codes = resolvable.getCodes();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable
+                    && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            if (!ObjectUtils.isEmpty(codes) && defaultMessage.equals(codes[0])) {
+                return defaultMessage;
+            }
+            return renderDefaultMessage(defaultMessage, resolvable.getArguments(), locale);
+        }
+        return !ObjectUtils.isEmpty(codes) ? getDefaultMessage(codes[0]) : null;
+    }
+
+    private String getDefaultMessage(String code) {
+        return useCodeAsDefaultMessage ? code : null;
+    }
+
+    private String renderDefaultMessage(String defaultMessage, Object[] args, Locale locale) {
+        if (!alwaysUseMessageFormat && ObjectUtils.isEmpty(args)) {
+            return defaultMessage;
+        }
+        Locale messageLocale = snapshot.cacheKey(locale == null ? Locale.getDefault() : locale);
+        Map<String, CompiledMessage> cache = defaultMessages.computeIfAbsent(messageLocale, key -> new ConcurrentHashMap<>());
+        CompiledMessage message = cache.get(defaultMessage);
+        if (message == null) {
+            message = CompiledMessage.compile(defaultMessage, messageLocale);
+            if (cache.size() < DEFAULT_MESSAGE_CACHE_LIMIT) {
+                cache.put(defaultMessage, message);
+            }
+        }
+        return message.format(resolveArguments(args, messageLocale));
+    }
+
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        if (ObjectUtils.isEmpty(args)) {
+            return new Object[0];
+        }
+        Object[] resolved = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == null) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], locale);
+            }
+        }
+        return resolved == null ? args : resolved;
+    }
+
+    /**
+     * 메시지 Map 을 만들어 둔 로케일 수 (테스트용)
+     */
+    int cachedLocaleCount() {
+        return snapshot.messagesByLocale.size();
+    }
+
+    //----------------------------------------------------------------------------------------------------
+    // 파일 읽기
+    //----------------------------------------------------------------------------------------------------
+
+    /**
+     * 새 스냅샷을 만들고, 이전 스냅샷에서 사용하던 로케일은 미리 컴파일해둔다. (교체 직후 요청이 컴파일 비용을 내지 않도록)
+     */
+    private Snapshot load(Iterable<Locale> warmUpLocales) {
+        Snapshot loaded = new Snapshot();
+        loaded.messages(Locale.getDefault());
+        for (Locale locale : warmUpLocales) {
+            loaded.messages(locale);
+        }
+        return loaded;
+    }
+
+    /**
+     * 파일 이름 -> 수정 시간 (없는 파일은 -1). ResourceBundle 처럼 이름으로 직접 찾기 때문에 jar 안에서도 동작한다.
+     */
+    private long lastModified(String filename) {
+        Resource resource = resourceLoader.getResource("classpath:" + filename);
+        if (!resource.exists()) {
+            return -1L;
+        }
+        try {
+            //jar 안의 파일은 바뀌지 않으므로 실제 파일만 수정 시간을 본다.
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private Map<String, String> read(String filename) {
+        Resource resource = resourceLoader.getResource("classpath:" + filename);
+        if (!resource.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream(); Reader reader = new InputStreamReader(in, encoding)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 파일을 읽을 수 없습니다. file=" + filename, e);
+        }
+        Map<String, String> messages = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            messages.put(name, properties.getProperty(name));
+        }
+        return Collections.unmodifiableMap(messages);
+    }
+
+    private static String filename(String basename, Locale locale) {
+        return Locale.ROOT.equals(locale) ? basename + ".properties" : basename + "_" + locale + ".properties";
+    }
+
+    /*
+    *  한 시점에 읽은 파일과, 로케일별로 계산한 메시지 Map
+    *  파일은 필요할 때 한 번만 읽고(없는 파일도 기억한다), 이후에는 바뀌지 않는다.
+    * */
+    private final class Snapshot {
+
+        private static final long MISSING = -1L;
+
+        private final Map<String, Map<String, String>> files = new ConcurrentHashMap<>();
+        private final Map<String, Long> fingerprint = new ConcurrentHashMap<>();
+        private final Map<Locale, Map<String, CompiledMessage>> messagesByLocale = new ConcurrentHashMap<>();
+
+        Map<String, CompiledMessage> messages(Locale locale) {
+            Map<String, CompiledMessage> messages = messagesByLocale.get(locale);
+            if (messages != null) {
+                return messages;
+            }
+            return messagesByLocale.computeIfAbsent(cacheKey(locale), this::compile);
+        }
+
+        //한도를 넘으면 메시지 파일이 있는 로케일로 대신한다. (그런 로케일은 파일 수만큼만 있다)
+        Locale cacheKey(Locale locale) {
+            if (messagesByLocale.size() < LOCALE_CACHE_LIMIT || messagesByLocale.containsKey(locale)) {
+                return locale;
+            }
+            for (Locale candidate : candidates(locale)) {
+                for (String basename : basenames) {
+                    if (file(basename, candidate) != null) {
+                        return candidate;
+                    }
+                }
+            }
+            //어느 basename 에도 파일이 없으면 compile 이 시스템 로케일(또는 기본 파일)만 읽으므로 결과가 같다.
+            return fallbackToSystemLocale && !Locale.ROOT.equals(locale) ? Locale.getDefault() : Locale.ROOT;
+        }
+
+        boolean isModified() {
+            for (Map.Entry<String, Long> entry : fingerprint.entrySet()) {
+                if (lastModified(entry.getKey()) != entry.getValue()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        //우선순위가 낮은 것부터 덮어쓴다. (뒤쪽 basename, 기본 파일 -> 앞쪽 basename, 구체적인 로케일)
+        private Map<String, CompiledMessage> compile(Locale locale) {
+            Map<String, String> merged = new HashMap<>();
+            for (int i = basenames.size() - 1; i >= 0; i--) {
+                List<Map<String, String>> chain = chain(basenames.get(i), locale);
+                for (int j = chain.size() - 1; j >= 0; j--) {
+                    merged.putAll(chain.get(j));
+                }
+            }
+            Map<String, CompiledMessage> compiled = new HashMap<>(merged.size() * 2);
+            merged.forEach((code, message) -> compiled.put(code, CompiledMessage.compile(message, locale)));
+            return Collections.unmodifiableMap(compiled);
+        }
+
+        //ResourceBundle.getBundle 과 같은 순서 - 구체적인 로케일부터 기본 파일까지
+        private List<Map<String, String>> chain(String basename, Locale locale) {
+            List<Map<String, String>> chain = new ArrayList<>();
+            addCandidates(chain, basename, locale);
+            if (chain.isEmpty() && fallbackToSystemLocale
+                    && !Locale.ROOT.equals(locale) && !locale.equals(Locale.getDefault())) {
+                addCandidates(chain, basename, Locale.getDefault());
+            }
+            Map<String, String> base = file(basename, Locale.ROOT);
+            if (base != null) {
+                chain.add(base);
+            }
+            return chain;
+        }
+
+        private void addCandidates(List<Map<String, String>> chain, String basename, Locale locale) {
+            for (Locale candidate : candidates(locale)) {
+                Map<String, String> file = file(basename, candidate);
+                if (file != null) {
+                    chain.add(file);
+                }
+            }
+        }
+
+        private List<Locale> candidates(Locale locale) {
+            List<Locale> candidates = new ArrayList<>(3);
+            if (!locale.getVariant().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage(), locale.getCountry(), locale.getVariant()));
+            }
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage(), locale.getCountry()));
+            }
+            if (!locale.getLanguage().isEmpty()) {
+                candidates.add(new Locale(locale.getLanguage()));
+            }
+            return candidates;
+        }
+
+        private Map<String, String> file(String basename, Locale locale) {
+            String filename = filename(basename, locale);
+            if (!files.containsKey(filename) && files.size() >= FILE_CACHE_LIMIT && lastModified(filename) == MISSING) {
+                return null;
+            }
+            Map<String, String> file = files.computeIfAbsent(filename, name -> {
+                fingerprint.put(name, lastModified(name));
+                Map<String, String> read = read(name);
+                return read != null ? read : Collections.emptyMap();
+            });
+            return fingerprint.get(filename) == MISSING ? null : file;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package hello.itemservice.validation;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+*  [메시지 코드 캐시]
+*  DefaultMessageCodesResolver 는 오류마다 메시지 코드 배열을 새로 만든다.
+*  -> required.item.itemName, required.itemName, required.java.lang.String, required
+*  그리고 th:errors 는 이 코드를 순서대로 MessageSource 에서 찾는데, 대부분은 errors.properties 에 없어서 헛걸음을 한다.
+*
+*  이 리졸버는 (errorCode, objectName, field, fieldType) 별로 코드 배열을 한 번만 만들고,
+*  로케일별로 MessageSource 에 실제로 있는 첫 번째 코드와 원래 오류 코드만 남긴다. (메시지를 찾을 때 한 번에 찾는다)
+*  -> {required.item.itemName, required}
+*  FieldError.getCode() 는 배열의 마지막 코드이므로 오류 코드는 메시지 파일, 로케일과 관계없이 그대로다. (지표, API 오류 응답)
+*  어떤 코드도 메시지가 없으면 전체 코드를 그대로 넘겨서 기본 메시지(defaultMessage) 처리를 바꾸지 않는다.
+*
+*  메시지 파일이 바뀌면 clear() 로 캐시를 비운다.
+* */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final MessageSource messageSource;
+    private final Map<Key, Codes> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver(MessageSource messageSource) {
+        this(new DefaultMessageCodesResolver(), messageSource);
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, MessageSource messageSource) {
+        this.delegate = delegate;
+        this.messageSource = messageSource;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        Key key = new Key(errorCode, objectName, null, null, false);
+        Codes codes = cache.computeIfAbsent(key, k -> new Codes(delegate.resolveMessageCodes(errorCode, objectName)));
+        return codes.forLocale(LocaleContextHolder.getLocale());
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, @Nullable Class<?> fieldType) {
+        Key key = new Key(errorCode, objectName, field, fieldType, true);
+        Codes codes = cache.computeIfAbsent(key, k -> new Codes(delegate.resolveMessageCodes(errorCode, objectName, field, fieldType)));
+        return codes.forLocale(LocaleContextHolder.getLocale());
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    private final class Codes {
+
+        private final String[] all;
+        private final Map<Locale, String[]> byLocale = new ConcurrentHashMap<>();
+
+        Codes(String[] all) {
+            this.all = all;
+        }
+
+        //FieldError 가 배열을 그대로 보관하므로 복사본을 넘긴다.
+        String[] forLocale(Locale locale) {
+            return byLocale.computeIfAbsent(locale, this::prune).clone();
+        }
+
+        private String[] prune(Locale locale) {
+            String errorCode = all[all.length - 1];
+            for (String code : all) {
+                if (messageSource.getMessage(code, null, null, locale) != null) {
+                    return code.equals(errorCode) ? new String[]{errorCode} : new String[]{code, errorCode};
+                }
+            }
+            return all;
+        }
+    }
+
+    private static final class Key {
+
+        private final String errorCode;
+        private final String objectName;
+        private final String field;
+        private final Class<?> fieldType;
+        private final boolean fieldError;
+
+        Key(String errorCode, String objectName, String field, Class<?> fieldType, boolean fieldError) {
+            this.errorCode = errorCode;
+            this.objectName = objectName;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.fieldError = fieldError;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fieldError == other.fieldError
+                    && errorCode.equals(other.errorCode)
+                    && objectName.equals(other.objectName)
+                    && Objects.equals(field, other.field)
+                    && fieldType == other.fieldType;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(errorCode, objectName, field, fieldType, fieldError);
+        }
+    }
+}
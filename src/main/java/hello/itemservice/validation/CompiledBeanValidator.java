@@ -0,0 +1,403 @@
+package hello.itemservice.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.constraints.Range;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.SmartValidator;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.MessageInterpolator;
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+*  [미리 컴파일한 Bean Validation]
+*  Hibernate Validator 는 요청마다 메타데이터 조회, 리플렉션으로 값 읽기, ConstraintViolation 생성을 반복한다.
+*  이 검증기는 클래스마다 처음 한 번만 애노테이션(@NotBlank, @NotNull, @Range, @Max, @Min)과 groups 를 읽어서
+*  필드별 검사 목록(CompiledConstraint)으로 만들어두고, 이후에는 그 목록만 실행한다.
+*
+*  [BindingResult 호환]
+*  SpringValidatorAdapter 와 같은 FieldError 를 만든다.
+*  - 오류 코드 : 애노테이션 이름 (NotBlank, Range ...)
+*  - 메시지 코드 : bindingResult.resolveMessageCodes(오류 코드, 필드) -> NotBlank.item.itemName, NotBlank.itemName ...
+*  - 인자 : {필드명, 애노테이션 속성(이름 순)} -> Range 는 {0}=필드, {1}=max, {2}=min
+*  - 기본 메시지 : Bean Validation 이 만든 메시지 (로케일별로 처음 한 번만 만든다)
+*  - 타입 변환에 실패한 필드(typeMismatch)는 검증하지 않는다.
+*
+*  [복합 룰]
+*  CrossFieldValidator 로 검증하는 클래스 레벨 제약(@TotalPriceMin)은 같은 CrossFieldRule 을 직접 실행한다.
+*  필드 제약을 모두 검사한 뒤에 실행하고, 피연산자 필드에 오류가 있으면 건너뛴다. (CrossFieldValidatorAdapter 와 같은 결과)
+*  기본 메시지는 룰의 메시지 템플릿을 로케일별로 한 번만 해석해두고, 위반한 값만 채운다.
+*
+*  [fail-fast]
+*  failFast=true 면 첫 번째 오류를 등록하고 바로 멈춘다. (Hibernate Validator 의 failFast 와 같은 역할)
+*
+*  그 외 제약(다른 클래스 레벨 제약, @Valid 중첩, 지원하지 않는 애노테이션이나 타입)이 있는 클래스는 위임 검증기(Hibernate Validator)가 그대로 검증한다.
+* */
+@Slf4j
+public class CompiledBeanValidator implements SmartValidator {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+    private static final CompiledClass UNSUPPORTED = new CompiledClass(List.of(), List.of());
+
+    private final Validator validator;
+    private final MessageInterpolator messageInterpolator;
+    private final SmartValidator delegate;
+    private final boolean failFast;
+    private final Map<Class<?>, CompiledClass> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * @param validator Bean Validation 메타데이터와 기본 메시지를 얻는 검증기
+     * @param delegate  컴파일할 수 없는 클래스를 검증하는 검증기
+     */
+    public CompiledBeanValidator(Validator validator, SmartValidator delegate) {
+        this(validator, delegate, false);
+    }
+
+    /**
+     * @param failFast 첫 번째 오류에서 검증을 멈춘다. (delegate 도 fail-fast 로 설정해서 넘긴다)
+     */
+    public CompiledBeanValidator(Validator validator, SmartValidator delegate, boolean failFast) {
+        this.validator = validator;
+        //스프링의 LocalValidatorFactoryBean 이면 설정된 메시지 해석기를 그대로 쓴다.
+        this.messageInterpolator = validator instanceof ValidatorFactory
+                ? ((ValidatorFactory) validator).getMessageInterpolator()
+                : Validation.byDefaultProvider().configure().getDefaultMessageInterpolator();
+        this.delegate = delegate;
+        this.failFast = failFast;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, DEFAULT_GROUPS);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        CompiledClass compiledClass = compiled.computeIfAbsent(target.getClass(), this::compile);
+        if (compiledClass == UNSUPPORTED) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+
+        Class<?>[] groups = toGroups(validationHints);
+        for (CompiledConstraint constraint : compiledClass.constraints) {
+            if (!constraint.appliesTo(groups)) {
+                continue;
+            }
+            Object value = getValue(constraint, target);
+            if (constraint.isValid(value)) {
+                continue;
+            }
+            FieldError fieldError = errors.getFieldError(constraint.getField());
+            if (fieldError == null || !fieldError.isBindingFailure()) {
+                reject(target, errors, constraint, value);
+                if (failFast) {
+                    return;
+                }
+            }
+        }
+
+        for (CompiledRule rule : compiledClass.rules) {
+            if (!rule.appliesTo(groups) || CrossFieldValidatorAdapter.hasFieldErrors(errors, rule.getOperands())) {
+                continue;
+            }
+            Object[] operands = readOperands(rule.getGetters(), target);
+            Object[] arguments = operands == null ? null : rule.getRule().check(operands);
+            if (arguments != null) {
+                errors.reject(rule.getRule().getErrorCode(), arguments, defaultMessage(rule, arguments));
+                if (failFast) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void reject(Object target, Errors errors, CompiledConstraint constraint, Object value) {
+        String field = constraint.getField();
+        Object[] arguments = constraint.getArguments(errors.getObjectName());
+        String defaultMessage = defaultMessage(target.getClass(), constraint, value);
+
+        if (errors instanceof BindingResult) {
+            BindingResult bindingResult = (BindingResult) errors;
+            String[] codes = bindingResult.resolveMessageCodes(constraint.getErrorCode(), field);
+            bindingResult.addError(new FieldError(errors.getObjectName(), bindingResult.getNestedPath() + field,
+                    value, false, codes, arguments, defaultMessage));
+        } else {
+            errors.rejectValue(field, constraint.getErrorCode(), arguments, defaultMessage);
+        }
+    }
+
+    //메시지 템플릿을 해석하는 비용이 크므로 제약, 로케일별로 한 번만 Bean Validation 에 맡긴다.
+    private String defaultMessage(Class<?> beanClass, CompiledConstraint constraint, Object value) {
+        Locale locale = LocaleContextHolder.getLocale();
+        return constraint.getDefaultMessages().computeIfAbsent(locale, key -> {
+            @SuppressWarnings("unchecked")
+            Set<ConstraintViolation<Object>> violations = validator.validateValue(
+                    (Class<Object>) beanClass, constraint.getField(), value, constraint.getGroups());
+            for (ConstraintViolation<Object> violation : violations) {
+                if (violation.getConstraintDescriptor().getAnnotation().equals(constraint.getAnnotation())) {
+                    return violation.getMessage();
+                }
+            }
+            return constraint.getErrorCode();
+        });
+    }
+
+    //복합 룰의 메시지 템플릿은 룰, 로케일별로 한 번만 해석한다. ({min} 같은 애노테이션 속성)
+    //위반한 값이 들어가는 인자({total})는 해석기가 그대로 남겨두므로 호출마다 문자열로 채운다. (Bean Validation 과 같은 toString)
+    private String defaultMessage(CompiledRule rule, Object[] arguments) {
+        String message = rule.getDefaultMessages().computeIfAbsent(LocaleContextHolder.getLocale(), locale ->
+                messageInterpolator.interpolate(rule.getDescriptor().getMessageTemplate(),
+                        new RuleMessageContext(rule.getDescriptor()), locale));
+        String[] names = rule.getRule().getArgumentNames();
+        for (int i = 0; i < names.length && i < arguments.length; i++) {
+            message = message.replace("{" + names[i] + "}", String.valueOf(arguments[i]));
+        }
+        return message;
+    }
+
+    /**
+     * 피연산자 값을 순서대로 읽는다. 하나라도 null 이면 null 을 반환한다.
+     */
+    static Object[] readOperands(MethodHandle[] getters, Object target) {
+        Object[] operands = new Object[getters.length];
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                operands[i] = getters[i].invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("값을 읽을 수 없습니다. class=" + target.getClass().getName(), e);
+            }
+            if (operands[i] == null) {
+                return null;
+            }
+        }
+        return operands;
+    }
+
+    private static Object getValue(CompiledConstraint constraint, Object target) {
+        try {
+            return constraint.getValue(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("값을 읽을 수 없습니다. field=" + constraint.getField(), e);
+        }
+    }
+
+    private static Class<?>[] toGroups(Object[] validationHints) {
+        if (validationHints == null || validationHints.length == 0) {
+            return DEFAULT_GROUPS;
+        }
+        List<Class<?>> groups = new ArrayList<>(validationHints.length);
+        for (Object hint : validationHints) {
+            if (hint instanceof Class) {
+                groups.add((Class<?>) hint);
+            }
+        }
+        return groups.isEmpty() ? DEFAULT_GROUPS : groups.toArray(new Class<?>[0]);
+    }
+
+    private CompiledClass compile(Class<?> clazz) {
+        BeanDescriptor bean = validator.getConstraintsForClass(clazz);
+        List<CompiledRule> rules = new ArrayList<>();
+        for (ConstraintDescriptor<?> descriptor : bean.getConstraintDescriptors()) {
+            CompiledRule rule = compileRule(clazz, descriptor);
+            if (rule == null) {
+                log.debug("지원하지 않는 클래스 레벨 제약이 있어 컴파일하지 않습니다. class={}, constraint={}",
+                        clazz.getName(), descriptor.getAnnotation());
+                return UNSUPPORTED;
+            }
+            rules.add(rule);
+        }
+
+        List<CompiledConstraint> constraints = new ArrayList<>();
+        for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+            if (property.isCascaded()) {
+                return UNSUPPORTED;
+            }
+            MethodHandle getter = getter(clazz, property.getPropertyName());
+            if (getter == null) {
+                return UNSUPPORTED;
+            }
+            for (ConstraintDescriptor<?> descriptor : property.getConstraintDescriptors()) {
+                CompiledConstraint constraint = compile(property, getter, descriptor);
+                if (constraint == null) {
+                    log.debug("지원하지 않는 제약이 있어 컴파일하지 않습니다. class={}, constraint={}",
+                            clazz.getName(), descriptor.getAnnotation());
+                    return UNSUPPORTED;
+                }
+                constraints.add(constraint);
+            }
+        }
+        return new CompiledClass(List.copyOf(constraints), List.copyOf(rules));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static CompiledRule compileRule(Class<?> clazz, ConstraintDescriptor<?> descriptor) {
+        for (Class<?> validatorClass : descriptor.getConstraintValidatorClasses()) {
+            if (!CrossFieldValidator.class.isAssignableFrom(validatorClass)) {
+                continue;
+            }
+            CrossFieldValidator crossFieldValidator = (CrossFieldValidator) BeanUtils.instantiateClass(validatorClass);
+            crossFieldValidator.initialize(descriptor.getAnnotation());
+            CrossFieldRule rule = crossFieldValidator.getRule();
+            MethodHandle[] getters = getters(clazz, rule.getOperands());
+            if (getters == null) {
+                return null;
+            }
+            return new CompiledRule(rule, getters, descriptor);
+        }
+        return null;
+    }
+
+    private static CompiledConstraint compile(PropertyDescriptor property, MethodHandle getter, ConstraintDescriptor<?> descriptor) {
+        Annotation annotation = descriptor.getAnnotation();
+        Class<?> type = property.getElementClass();
+
+        CompiledConstraint.Check check;
+        if (annotation instanceof NotNull) {
+            check = value -> value != null;
+        } else if (annotation instanceof NotBlank && CharSequence.class.isAssignableFrom(type)) {
+            check = value -> value != null && value.toString().trim().length() > 0;
+        } else if (annotation instanceof Range && isIntegral(type)) {
+            long min = ((Range) annotation).min();
+            long max = ((Range) annotation).max();
+            check = value -> value == null || (((Number) value).longValue() >= min && ((Number) value).longValue() <= max);
+        } else if (annotation instanceof Max && isIntegral(type)) {
+            long max = ((Max) annotation).value();
+            check = value -> value == null || ((Number) value).longValue() <= max;
+        } else if (annotation instanceof Min && isIntegral(type)) {
+            long min = ((Min) annotation).value();
+            check = value -> value == null || ((Number) value).longValue() >= min;
+        } else {
+            return null;
+        }
+
+        Object[] attributeArguments = attributeArguments(descriptor);
+        if (attributeArguments == null) {
+            return null;
+        }
+        return new CompiledConstraint(property.getPropertyName(), getter, annotation,
+                descriptor.getGroups().toArray(new Class<?>[0]), attributeArguments, check);
+    }
+
+    //SpringValidatorAdapter.getArgumentsForConstraint 와 같이 message, groups, payload 를 뺀 속성을 이름 순으로 넘긴다.
+    private static Object[] attributeArguments(ConstraintDescriptor<?> descriptor) {
+        Map<String, Object> attributes = new TreeMap<>();
+        for (Map.Entry<String, Object> attribute : descriptor.getAttributes().entrySet()) {
+            String name = attribute.getKey();
+            if ("message".equals(name) || "groups".equals(name) || "payload".equals(name)) {
+                continue;
+            }
+            if (attribute.getValue() instanceof String) {
+                //문자열 속성은 스프링이 MessageSourceResolvable 로 감싸서 넘기므로 그대로 위임한다.
+                return null;
+            }
+            attributes.put(name, attribute.getValue());
+        }
+        return attributes.values().toArray();
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == int.class || type == long.class || type == short.class || type == byte.class;
+    }
+
+    static MethodHandle[] getters(Class<?> clazz, String[] propertyNames) {
+        MethodHandle[] getters = new MethodHandle[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            getters[i] = getter(clazz, propertyNames[i]);
+            if (getters[i] == null) {
+                return null;
+            }
+        }
+        return getters;
+    }
+
+    static MethodHandle getter(Class<?> clazz, String propertyName) {
+        java.beans.PropertyDescriptor property = BeanUtils.getPropertyDescriptor(clazz, propertyName);
+        Method readMethod = property == null ? null : property.getReadMethod();
+        if (readMethod == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(readMethod)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static final class CompiledClass {
+
+        private final List<CompiledConstraint> constraints;
+        private final List<CompiledRule> rules;
+
+        CompiledClass(List<CompiledConstraint> constraints, List<CompiledRule> rules) {
+            this.constraints = constraints;
+            this.rules = rules;
+        }
+    }
+
+    //복합 룰의 메시지 템플릿을 위반 없이 해석할 때 넘기는 문맥 (검증한 값 없이 애노테이션 속성만 제공한다)
+    private static final class RuleMessageContext implements MessageInterpolator.Context {
+
+        private final ConstraintDescriptor<?> descriptor;
+
+        RuleMessageContext(ConstraintDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        public ConstraintDescriptor<?> getConstraintDescriptor() {
+            return descriptor;
+        }
+
+        @Override
+        public Object getValidatedValue() {
+            return null;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> type) {
+            if (type.isInstance(this)) {
+                return type.cast(this);
+            }
+            throw new ValidationException(type.getName() + " 로 변환할 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hello.itemservice.validation;
+
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+*  [필드 제약 하나]
+*  애노테이션을 읽어서 미리 만들어둔 검사(Check), 오류 코드, 메시지 인자(애노테이션 속성)를 보관한다.
+*  검증할 때는 getter 를 MethodHandle 로 호출해서 값을 꺼내고 Check 만 실행한다. (성공하면 할당이 없다)
+* */
+final class CompiledConstraint {
+
+    private final String field;
+    private final MethodHandle getter;
+    private final Annotation annotation;
+    private final String errorCode;
+    private final Class<?>[] groups;
+    private final Object[] attributeArguments;
+    private final Check check;
+
+    //objectName 별 메시지 인자 (대부분 "item" 하나)
+    private final Map<String, Object[]> arguments = new ConcurrentHashMap<>();
+    //로케일별 기본 메시지 (Bean Validation 이 만든 메시지를 처음 한 번만 받아온다)
+    private final Map<Locale, String> defaultMessages = new ConcurrentHashMap<>();
+
+    CompiledConstraint(String field, MethodHandle getter, Annotation annotation,
+                       Class<?>[] groups, Object[] attributeArguments, Check check) {
+        this.field = field;
+        this.getter = getter;
+        this.annotation = annotation;
+        this.errorCode = annotation.annotationType().getSimpleName();
+        this.groups = groups;
+        this.attributeArguments = attributeArguments;
+        this.check = check;
+    }
+
+    String getField() {
+        return field;
+    }
+
+    Annotation getAnnotation() {
+        return annotation;
+    }
+
+    String getErrorCode() {
+        return errorCode;
+    }
+
+    Class<?>[] getGroups() {
+        return groups;
+    }
+
+    Map<Locale, String> getDefaultMessages() {
+        return defaultMessages;
+    }
+
+    Object getValue(Object target) throws Throwable {
+        return getter.invokeExact(target);
+    }
+
+    boolean isValid(Object value) {
+        return check.isValid(value);
+    }
+
+    /**
+     * 요청한 그룹 중 하나라도 제약의 그룹(또는 그 하위 그룹)이면 검사한다.
+     */
+    boolean appliesTo(Class<?>[] requestedGroups) {
+        return appliesTo(groups, requestedGroups);
+    }
+
+    static boolean appliesTo(Class<?>[] groups, Class<?>[] requestedGroups) {
+        for (Class<?> requested : requestedGroups) {
+            for (Class<?> group : groups) {
+                if (group.isAssignableFrom(requested)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * SpringValidatorAdapter 와 같은 인자 - {필드명 resolvable, 애노테이션 속성(이름 순)...}
+     */
+    Object[] getArguments(String objectName) {
+        return arguments.computeIfAbsent(objectName, name -> {
+            Object[] args = new Object[attributeArguments.length + 1];
+            args[0] = new DefaultMessageSourceResolvable(new String[]{name + "." + field, field}, field);
+            System.arraycopy(attributeArguments, 0, args, 1, attributeArguments.length);
+            return args;
+        });
+    }
+
+    interface Check {
+        boolean isValid(Object value);
+    }
+}
@@ -0,0 +1,55 @@
+package hello.itemservice.validation;
+
+import javax.validation.metadata.ConstraintDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+*  [클래스 레벨 복합 룰 하나]
+*  CrossFieldValidator 가 애노테이션에서 만든 CrossFieldRule 과 피연산자 getter 를 보관한다.
+* */
+final class CompiledRule {
+
+    private final CrossFieldRule rule;
+    private final String[] operands;
+    private final MethodHandle[] getters;
+    private final ConstraintDescriptor<?> descriptor;
+    private final Class<?>[] groups;
+
+    //로케일별 기본 메시지 템플릿 (애노테이션 속성만 채우고, 위반한 값은 {total} 처럼 남겨둔다)
+    private final Map<Locale, String> defaultMessages = new ConcurrentHashMap<>();
+
+    CompiledRule(CrossFieldRule rule, MethodHandle[] getters, ConstraintDescriptor<?> descriptor) {
+        this.rule = rule;
+        this.operands = rule.getOperands();
+        this.getters = getters;
+        this.descriptor = descriptor;
+        this.groups = descriptor.getGroups().toArray(new Class<?>[0]);
+    }
+
+    CrossFieldRule getRule() {
+        return rule;
+    }
+
+    String[] getOperands() {
+        return operands;
+    }
+
+    MethodHandle[] getGetters() {
+        return getters;
+    }
+
+    ConstraintDescriptor<?> getDescriptor() {
+        return descriptor;
+    }
+
+    Map<Locale, String> getDefaultMessages() {
+        return defaultMessages;
+    }
+
+    boolean appliesTo(Class<?>[] requestedGroups) {
+        return CompiledConstraint.appliesTo(groups, requestedGroups);
+    }
+}
@@ -0,0 +1,24 @@
+package hello.itemservice.validation;
+
+/*
+*  [복합 룰(글로벌 룰)]
+*  여러 필드(피연산자)를 함께 보는 규칙. 특정 필드가 아닌 Object Error(reject) 로 보고한다.
+*
+*  - getOperands()  : 규칙이 읽는 필드 이름
+*  - check()        : 피연산자 값(순서는 getOperands 와 같고 null 은 없다)을 검사한다. 통과하면 null, 실패하면 메시지 인자({0}, {1} ...)
+*
+*  Bean Validation 경로(CrossFieldValidator), 컴파일한 경로(CompiledBeanValidator), 스프링 Validator 가 모두 같은 규칙 객체를 사용한다.
+* */
+public interface CrossFieldRule {
+
+    String getErrorCode();
+
+    String[] getOperands();
+
+    /**
+     * 메시지 인자의 이름 - Bean Validation 기본 메시지에서 {이름} 으로 사용한다.
+     */
+    String[] getArgumentNames();
+
+    Object[] check(Object[] operands);
+}
@@ -0,0 +1,69 @@
+package hello.itemservice.validation;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import javax.validation.ConstraintDeclarationException;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+
+/*
+*  [클래스 레벨 복합 룰 검증기]
+*  @ScriptAssert 처럼 스크립트 엔진을 띄우지 않고, 애노테이션에서 만든 CrossFieldRule(자바 코드)을 실행한다.
+*  클래스 레벨 제약이므로 필드 제약과 같은 한 번의 검증(validate)에서 함께 실행된다.
+*
+*  - 피연산자는 getter 를 MethodHandle 로 읽는다. (클래스별로 한 번만 찾는다)
+*  - 피연산자 중 null 이 있으면 검사하지 않는다. (@NotNull 이 따로 보고한다)
+*  - 위반하면 CrossFieldViolation 을 dynamic payload 로 넘긴다. -> CrossFieldValidatorAdapter 가 reject(오류 코드, 인자) 로 바꾼다.
+* */
+public abstract class CrossFieldValidator<A extends Annotation> implements ConstraintValidator<A, Object> {
+
+    private CrossFieldRule rule;
+
+    private final ClassValue<MethodHandle[]> getters = new ClassValue<>() {
+        @Override
+        protected MethodHandle[] computeValue(Class<?> type) {
+            MethodHandle[] operandGetters = CompiledBeanValidator.getters(type, rule.getOperands());
+            if (operandGetters == null) {
+                throw new ConstraintDeclarationException(
+                        "피연산자 getter 가 없습니다. class=" + type.getName() + ", operands=" + String.join(",", rule.getOperands()));
+            }
+            return operandGetters;
+        }
+    };
+
+    protected abstract CrossFieldRule createRule(A annotation);
+
+    @Override
+    public void initialize(A annotation) {
+        rule = createRule(annotation);
+    }
+
+    public CrossFieldRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public boolean isValid(Object value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        Object[] operands = CompiledBeanValidator.readOperands(getters.get(value.getClass()), value);
+        if (operands == null) {
+            return true;
+        }
+        Object[] arguments = rule.check(operands);
+        if (arguments == null) {
+            return true;
+        }
+
+        HibernateConstraintValidatorContext hibernateContext = context.unwrap(HibernateConstraintValidatorContext.class);
+        String[] names = rule.getArgumentNames();
+        for (int i = 0; i < names.length && i < arguments.length; i++) {
+            hibernateContext.addMessageParameter(names[i], arguments[i]);
+        }
+        hibernateContext.withDynamicPayload(new CrossFieldViolation(rule.getErrorCode(), arguments, rule.getOperands()));
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package hello.itemservice.validation;
+
+import org.hibernate.validator.engine.HibernateConstraintViolation;
+import org.springframework.validation.Errors;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+*  [복합 룰을 BindingResult 로]
+*  SpringValidatorAdapter 는 클래스 레벨 제약을 애노테이션 이름(TotalPriceMin)으로 reject 한다.
+*  CrossFieldValidator 가 만든 위반만 규칙의 오류 코드, 인자로 reject 한다. -> reject("totalPriceMin", {10000, 현재 값})
+*
+*  피연산자 필드에 이미 오류(필드 제약 위반, typeMismatch)가 있으면 복합 룰 오류는 보고하지 않는다.
+* */
+public class CrossFieldValidatorAdapter extends SpringValidatorAdapter {
+
+    public CrossFieldValidatorAdapter(Validator targetValidator) {
+        super(targetValidator);
+    }
+
+    @Override
+    protected void processConstraintViolations(Set<ConstraintViolation<Object>> violations, Errors errors) {
+        Set<ConstraintViolation<Object>> fieldViolations = new LinkedHashSet<>(violations.size());
+        List<ConstraintViolation<Object>> ruleViolations = new ArrayList<>(1);
+        for (ConstraintViolation<Object> violation : violations) {
+            if (crossFieldViolation(violation) != null) {
+                ruleViolations.add(violation);
+            } else {
+                fieldViolations.add(violation);
+            }
+        }
+
+        super.processConstraintViolations(fieldViolations, errors);
+        for (ConstraintViolation<Object> violation : ruleViolations) {
+            CrossFieldViolation ruleViolation = crossFieldViolation(violation);
+            if (!hasFieldErrors(errors, ruleViolation.getOperands())) {
+                errors.reject(ruleViolation.getErrorCode(), ruleViolation.getArguments(), violation.getMessage());
+            }
+        }
+    }
+
+    static boolean hasFieldErrors(Errors errors, String[] fields) {
+        for (String field : fields) {
+            if (errors.hasFieldErrors(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CrossFieldViolation crossFieldViolation(ConstraintViolation<Object> violation) {
+        if (!(violation instanceof HibernateConstraintViolation)) {
+            return null;
+        }
+        return ((HibernateConstraintViolation<?>) violation).getDynamicPayload(CrossFieldViolation.class);
+    }
+}
@@ -0,0 +1,29 @@
+package hello.itemservice.validation;
+
+/*
+*  복합 룰 위반 정보. ConstraintViolation 의 dynamic payload 로 실어서 CrossFieldValidatorAdapter 에 전달한다.
+* */
+public final class CrossFieldViolation {
+
+    private final String errorCode;
+    private final Object[] arguments;
+    private final String[] operands;
+
+    public CrossFieldViolation(String errorCode, Object[] arguments, String[] operands) {
+        this.errorCode = errorCode;
+        this.arguments = arguments;
+        this.operands = operands;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public String[] getOperands() {
+        return operands;
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.validation;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/*
+*  [가격 * 수량 최소 금액]
+*  price * quantity >= min 이어야 한다. 위반하면 reject("totalPriceMin", {min, 현재 값}) 으로 보고한다.
+*  -> errors.properties 의 totalPriceMin.item, totalPriceMin 메시지를 그대로 사용한다.
+* */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+@Constraint(validatedBy = TotalPriceMinValidator.class)
+public @interface TotalPriceMin {
+
+    String message() default "가격 * 수량의 합은 {min}원 이상이어야 합니다. 현재 값 = {total}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    long min() default 10000;
+
+    String price() default "price";
+
+    String quantity() default "quantity";
+}
@@ -0,0 +1,50 @@
+package hello.itemservice.validation;
+
+import java.math.BigInteger;
+
+/*
+*  price * quantity >= min
+*  int 끼리 곱하면 넘칠 수 있으므로(100만원 * 1만개 등) long 으로 곱하고, long 도 넘치면 BigInteger 로 계산한다.
+* */
+public class TotalPriceMinRule implements CrossFieldRule {
+
+    public static final String ERROR_CODE = "totalPriceMin";
+
+    private static final String[] ARGUMENT_NAMES = {"min", "total"};
+
+    private final long min;
+    private final String[] operands;
+
+    public TotalPriceMinRule(long min, String price, String quantity) {
+        this.min = min;
+        this.operands = new String[]{price, quantity};
+    }
+
+    @Override
+    public String getErrorCode() {
+        return ERROR_CODE;
+    }
+
+    @Override
+    public String[] getOperands() {
+        return operands.clone();
+    }
+
+    @Override
+    public String[] getArgumentNames() {
+        return ARGUMENT_NAMES.clone();
+    }
+
+    @Override
+    public Object[] check(Object[] operands) {
+        long price = ((Number) operands[0]).longValue();
+        long quantity = ((Number) operands[1]).longValue();
+        try {
+            long total = Math.multiplyExact(price, quantity);
+            return total >= min ? null : new Object[]{min, total};
+        } catch (ArithmeticException e) {
+            BigInteger total = BigInteger.valueOf(price).multiply(BigInteger.valueOf(quantity));
+            return total.signum() > 0 ? null : new Object[]{min, total};
+        }
+    }
+}
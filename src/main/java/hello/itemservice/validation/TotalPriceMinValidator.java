@@ -0,0 +1,9 @@
+package hello.itemservice.validation;
+
+public class TotalPriceMinValidator extends CrossFieldValidator<TotalPriceMin> {
+
+    @Override
+    protected CrossFieldRule createRule(TotalPriceMin annotation) {
+        return new TotalPriceMinRule(annotation.min(), annotation.price(), annotation.quantity());
+    }
+}
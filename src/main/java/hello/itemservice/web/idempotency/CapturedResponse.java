@@ -0,0 +1,55 @@
+package hello.itemservice.web.idempotency;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+*  처음 처리한 요청의 응답 (상태 코드, 헤더, 본문). 같은 키로 다시 요청하면 그대로 다시 쓴다.
+*  - 저장 성공 : 302 Location: /validation/v4/items/{itemId}
+*  - 검증 실패 : 오류가 담긴 입력 폼, 오류 목록
+* */
+final class CapturedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    CapturedResponse(int status, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    static CapturedResponse capture(HttpServletResponse response, byte[] body) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            //세션 쿠키 같은 요청자별 헤더는 다시 보내지 않는다.
+            if (!"Set-Cookie".equalsIgnoreCase(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        if (response.getContentType() != null) {
+            headers.put("Content-Type", List.of(response.getContentType()));
+        }
+        return new CapturedResponse(response.getStatus(), headers, body);
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status);
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+    }
+}
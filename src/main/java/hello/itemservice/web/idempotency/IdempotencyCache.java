@@ -0,0 +1,112 @@
+package hello.itemservice.web.idempotency;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/*
+*  [Idempotency-Key 결과 캐시]
+*  키마다 CompletableFuture 를 하나만 등록한다. 먼저 등록한 요청이 처리하고, 같은 키로 동시에 들어온 요청은 그 결과를 기다린다.
+*
+*  [만료, 크기 제한]
+*  모든 항목의 TTL 이 같으므로 등록 순서가 곧 만료 순서다. 등록 순서대로 키를 큐에 넣어두고,
+*  새 키를 등록할 때마다 큐 앞에서부터 만료된 항목과 max-entries 를 넘는 항목을 버린다. (별도의 정리 쓰레드가 없다)
+* */
+class IdempotencyCache {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    IdempotencyCache(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyCache(Duration ttl, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * 키를 처음 등록하면 null 을 반환한다. 호출한 쪽이 요청을 처리하고 complete 또는 fail 을 호출해야 한다.
+     * 이미 등록된 키면 처음 요청의 결과(처리중이면 처리가 끝날 때 완료되는 future)를 반환한다.
+     */
+    CompletableFuture<CapturedResponse> register(String key, CompletableFuture<CapturedResponse> pending) {
+        long now = clock.getAsLong();
+        Entry entry = new Entry(key, pending, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                insertionOrder.add(entry);
+                size.incrementAndGet();
+                evict(now);
+                return null;
+            }
+            if (!existing.isExpired(now)) {
+                return existing.future;
+            }
+            remove(existing);
+        }
+    }
+
+    /**
+     * 처리에 실패한 키를 지운다. 같은 키로 다시 요청하면 처음부터 처리한다.
+     */
+    void remove(String key, CompletableFuture<CapturedResponse> future) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.future == future) {
+            remove(entry);
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            boolean removed = oldest.removed;
+            if (!removed && !oldest.isExpired(now) && size.get() <= maxEntries) {
+                return;
+            }
+            if (insertionOrder.remove(oldest) && !removed) {
+                remove(oldest);
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entries.remove(entry.key, entry)) {
+            entry.removed = true;
+            size.decrementAndGet();
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final CompletableFuture<CapturedResponse> future;
+        private final long expiresAt;
+        private volatile boolean removed;
+
+        Entry(String key, CompletableFuture<CapturedResponse> future, long expiresAt) {
+            this.key = key;
+            this.future = future;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.config.IdempotencyProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+*  [Idempotency-Key]
+*  모바일 클라이언트가 응답을 받지 못하고 같은 등록 요청을 다시 보내면 상품이 중복으로 저장된다.
+*  요청에 Idempotency-Key 헤더가 있으면 (메서드, 경로, 키) 별로 처음 처리한 응답을 보관하고,
+*  같은 키로 다시 요청하면 검증, 저장을 다시 하지 않고 보관한 응답을 그대로 돌려준다. (Idempotent-Replayed: true)
+*
+*  - 같은 키로 동시에 들어온 요청은 처음 요청의 처리가 끝날 때까지 기다렸다가 같은 응답을 받는다. (wait-timeout 을 넘으면 409)
+*  - 처리 중 예외가 나거나 5xx 로 끝난 응답은 보관하지 않는다. -> 같은 키로 다시 시도할 수 있다.
+*  - 헤더가 없는 요청은 그대로 처리한다.
+*
+*  등록하는 경로는 WebConfig 에서 정한다.
+* */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyCache cache;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyFilter(IdempotencyProperties properties) {
+        this.cache = new IdempotencyCache(properties.getTtl(), properties.getMaxEntries());
+        this.waitTimeoutNanos = properties.getWaitTimeout().toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key 는 1~" + MAX_KEY_LENGTH + "자여야 합니다.");
+            return;
+        }
+
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        CompletableFuture<CapturedResponse> pending = new CompletableFuture<>();
+        CompletableFuture<CapturedResponse> first = cache.register(key, pending);
+        if (first != null) {
+            replay(first, response, idempotencyKey);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, responseWrapper);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            cache.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+
+        CapturedResponse captured = CapturedResponse.capture(responseWrapper, responseWrapper.getContentAsByteArray());
+        if (captured.getStatus() >= 500) {
+            cache.remove(key, pending);
+        }
+        pending.complete(captured);
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void replay(CompletableFuture<CapturedResponse> first, HttpServletResponse response, String idempotencyKey)
+            throws IOException {
+        CapturedResponse captured;
+        try {
+            captured = first.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.CONFLICT.value());
+            return;
+        } catch (ExecutionException | TimeoutException e) {
+            log.info("같은 Idempotency-Key 의 처음 요청이 끝나지 않았습니다. key={}", idempotencyKey);
+            response.sendError(HttpStatus.CONFLICT.value(), "같은 Idempotency-Key 의 요청을 처리중입니다.");
+            return;
+        }
+
+        log.debug("Idempotency-Key 응답 재사용 key={}, status={}", idempotencyKey, captured.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        captured.writeTo(response);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+*  [요청 하나의 단계별 시간]
+*  ValidationMetricsInterceptor 가 요청 속성에 넣어두고, 각 단계에서 시간을 더한 뒤 요청이 끝나면 한 번에 기록한다.
+*  한 요청은 한 쓰레드에서 처리하므로 동기화하지 않는다.
+* */
+final class PhaseRecorder {
+
+    private static final String ATTRIBUTE = PhaseRecorder.class.getName();
+
+    private final String endpoint;
+    private final Map<ValidationPhase, Long> nanos = new EnumMap<>(ValidationPhase.class);
+    private final List<BindingResult> bindingResults = new ArrayList<>(1);
+    //BindingResult 없이 직접 검증한 오류 (V1) -> {code, field}
+    private final List<String[]> rejections = new ArrayList<>(0);
+
+    PhaseRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static PhaseRecorder current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (PhaseRecorder) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    static String attributeName() {
+        return ATTRIBUTE;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    void add(ValidationPhase phase, long elapsedNanos) {
+        nanos.merge(phase, elapsedNanos, Long::sum);
+    }
+
+    long get(ValidationPhase phase) {
+        return nanos.getOrDefault(phase, 0L);
+    }
+
+    Map<ValidationPhase, Long> getNanos() {
+        return nanos;
+    }
+
+    void addBindingResult(BindingResult bindingResult) {
+        if (!bindingResults.contains(bindingResult)) {
+            bindingResults.add(bindingResult);
+        }
+    }
+
+    List<BindingResult> getBindingResults() {
+        return bindingResults;
+    }
+
+    void addRejection(String code, String field) {
+        rejections.add(new String[]{code, field});
+    }
+
+    List<String[]> getRejections() {
+        return rejections;
+    }
+}
@@ -0,0 +1,51 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/*
+*  [바인딩 단계 측정]
+*  @ModelAttribute, @RequestBody 등 인자 하나를 만드는 시간(바인딩 + 검증)을 잰다.
+*  검증 시간은 TimedValidator 가 따로 기록하므로, 인터셉터에서 빼고 binding 시간으로 기록한다.
+*  인자를 만든 뒤 모델에 BindingResult 가 있으면 오류 코드 집계용으로 보관한다.
+* */
+class TimedArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final HandlerMethodArgumentResolver delegate;
+
+    TimedArgumentResolver(HandlerMethodArgumentResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return delegate.supportsParameter(parameter);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        PhaseRecorder recorder = PhaseRecorder.current();
+        if (recorder == null) {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return delegate.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        } finally {
+            recorder.add(ValidationPhase.BINDING, System.nanoTime() - start);
+            if (mavContainer != null) {
+                mavContainer.getModel().forEach((name, value) -> {
+                    if (value instanceof BindingResult) {
+                        recorder.addBindingResult((BindingResult) value);
+                    }
+                });
+            }
+        }
+    }
+}
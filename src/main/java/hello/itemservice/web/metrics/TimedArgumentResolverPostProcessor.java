@@ -0,0 +1,32 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RequestMappingHandlerAdapter 의 인자 리졸버를 TimedArgumentResolver 로 감싼다.
+ */
+@Component
+public class TimedArgumentResolverPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RequestMappingHandlerAdapter) {
+            RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+            List<HandlerMethodArgumentResolver> resolvers = adapter.getArgumentResolvers();
+            if (resolvers != null) {
+                List<HandlerMethodArgumentResolver> timed = new ArrayList<>(resolvers.size());
+                for (HandlerMethodArgumentResolver resolver : resolvers) {
+                    timed.add(new TimedArgumentResolver(resolver));
+                }
+                adapter.setArgumentResolvers(timed);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * 글로벌 검증기를 감싸서 현재 요청의 validation 시간을 기록한다.
+ */
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    public TimedValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        PhaseRecorder recorder = PhaseRecorder.current();
+        if (recorder == null) {
+            delegate.validate(target, errors, validationHints);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            recorder.add(ValidationPhase.VALIDATION, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors, Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+}
@@ -0,0 +1,70 @@
+package hello.itemservice.web.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+*  [검증 메트릭]
+*  - validation.phase       : 단계별 시간 히스토그램 (endpoint, phase = binding | validation | persistence)
+*  - validation.rejections  : 오류 코드별 건수 (endpoint, code, field) -> NotBlank / itemName, totalPriceMin / global
+*
+*  GET /actuator/prometheus 로 확인한다.
+* */
+@Component
+public class ValidationMetrics {
+
+    static final String GLOBAL_FIELD = "global";
+
+    private final MeterRegistry registry;
+
+    public ValidationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    void record(PhaseRecorder recorder) {
+        //바인딩 시간에는 그 안에서 실행된 검증 시간이 포함되어 있으므로 뺀다.
+        Map<ValidationPhase, Long> nanos = recorder.getNanos();
+        long validation = recorder.get(ValidationPhase.VALIDATION);
+        for (Map.Entry<ValidationPhase, Long> entry : nanos.entrySet()) {
+            long elapsed = entry.getKey() == ValidationPhase.BINDING
+                    ? Math.max(0, entry.getValue() - validation) : entry.getValue();
+            phaseTimer(recorder.getEndpoint(), entry.getKey()).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+
+        for (BindingResult bindingResult : recorder.getBindingResults()) {
+            for (ObjectError error : bindingResult.getAllErrors()) {
+                String field = error instanceof FieldError ? ((FieldError) error).getField() : GLOBAL_FIELD;
+                rejectionCounter(recorder.getEndpoint(), error.getCode(), field).increment();
+            }
+        }
+        for (String[] rejection : recorder.getRejections()) {
+            rejectionCounter(recorder.getEndpoint(), rejection[0], rejection[1]).increment();
+        }
+    }
+
+    private Timer phaseTimer(String endpoint, ValidationPhase phase) {
+        return Timer.builder("validation.phase")
+                .description("검증 요청의 단계별 처리 시간")
+                .tag("endpoint", endpoint)
+                .tag("phase", phase.getTag())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter rejectionCounter(String endpoint, String code, String field) {
+        return Counter.builder("validation.rejections")
+                .description("검증 오류 건수")
+                .tag("endpoint", endpoint)
+                .tag("code", code == null ? "none" : code)
+                .tag("field", field)
+                .register(registry);
+    }
+}
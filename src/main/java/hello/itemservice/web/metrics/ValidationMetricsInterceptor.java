@@ -0,0 +1,38 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/*
+*  [검증 메트릭 인터셉터]
+*  상품 등록, 수정 요청(POST)마다 PhaseRecorder 를 요청 속성에 넣고, 요청이 끝나면 ValidationMetrics 에 기록한다.
+*  endpoint 태그는 "컨트롤러.메서드" 이다. -> ValidationItemControllerV4.addItem
+* */
+@RequiredArgsConstructor
+public class ValidationMetricsInterceptor implements HandlerInterceptor {
+
+    private final ValidationMetrics validationMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("POST".equals(request.getMethod()) && handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            String endpoint = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            request.setAttribute(PhaseRecorder.attributeName(), new PhaseRecorder(endpoint));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object recorder = request.getAttribute(PhaseRecorder.attributeName());
+        if (recorder instanceof PhaseRecorder) {
+            request.removeAttribute(PhaseRecorder.attributeName());
+            validationMetrics.record((PhaseRecorder) recorder);
+        }
+    }
+}
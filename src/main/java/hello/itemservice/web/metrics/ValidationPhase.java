@@ -0,0 +1,18 @@
+package hello.itemservice.web.metrics;
+
+public enum ValidationPhase {
+
+    BINDING("binding"),
+    VALIDATION("validation"),
+    PERSISTENCE("persistence");
+
+    private final String tag;
+
+    ValidationPhase(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
@@ -0,0 +1,47 @@
+package hello.itemservice.web.metrics;
+
+import java.util.function.Supplier;
+
+/*
+*  [저장 단계 측정]
+*  컨트롤러에서 저장 호출을 감싸면 현재 요청의 persistence 시간으로 기록한다.
+*  -> Item savedItem = ValidationPhases.persist(() -> itemRepository.save(item));
+*  측정 대상 요청이 아니면(요청 밖, 벤치마크 등) 그냥 실행만 한다.
+*
+*  BindingResult 없이 직접 검증하는 컨트롤러(V1)는 reject() 로 오류를 알려서 validation.rejections 에 함께 센다.
+* */
+public final class ValidationPhases {
+
+    private ValidationPhases() {
+    }
+
+    public static <T> T persist(Supplier<T> persistence) {
+        PhaseRecorder recorder = PhaseRecorder.current();
+        if (recorder == null) {
+            return persistence.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return persistence.get();
+        } finally {
+            recorder.add(ValidationPhase.PERSISTENCE, System.nanoTime() - start);
+        }
+    }
+
+    public static void persist(Runnable persistence) {
+        persist(() -> {
+            persistence.run();
+            return null;
+        });
+    }
+
+    /**
+     * 현재 요청의 검증 오류 하나를 기록한다. field 가 null 이면 글로벌 오류다.
+     */
+    public static void reject(String code, String field) {
+        PhaseRecorder recorder = PhaseRecorder.current();
+        if (recorder != null) {
+            recorder.addRejection(code, field == null ? ValidationMetrics.GLOBAL_FIELD : field);
+        }
+    }
+}
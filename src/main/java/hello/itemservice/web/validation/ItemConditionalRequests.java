@@ -0,0 +1,55 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+
+/*
+*  [조건부 GET - ETag, Last-Modified]
+*  상품 상세, 수정 폼, 목록 화면은 저장소가 바뀌지 않았으면 같은 HTML 을 만든다.
+*  ItemRepository 의 버전 값으로 ETag 를 만들고, If-None-Match / If-Modified-Since 가 맞으면 304 로 응답한다.
+*  isNotModified 가 true 면 핸들러는 null 을 반환한다. -> 스프링이 뷰(Thymeleaf)를 렌더링하지 않고 응답을 끝낸다.
+*
+*  - 상세, 수정 폼 : W/"{epoch}-{itemId}-{version}-{locale}"
+*  - 목록          : W/"{epoch}-m{modificationCount}-{locale}" (커서, 크기는 URL 에 있으므로 캐시 키가 다르다)
+*  - Last-Modified : 저장소의 마지막 변경 시각 (초 단위라 ETag 가 우선한다)
+*
+*  화면은 메시지(Accept-Language)에 따라 달라지므로 Vary: Accept-Language 를 붙이고, 캐시는 매번 재검증(no-cache)하게 한다.
+* */
+public final class ItemConditionalRequests {
+
+    private ItemConditionalRequests() {
+    }
+
+    public static boolean isNotModified(ServletWebRequest request, ItemRepository itemRepository, Item item) {
+        if (item == null) {
+            return false;
+        }
+        return isNotModified(request, itemRepository,
+                item.getId() + "-" + item.getVersion());
+    }
+
+    /**
+     * 목록은 상품을 읽기 전에 호출한다. (먼저 읽은 변경 카운터가 보여주는 목록보다 오래된 값이어야 안전하다)
+     */
+    public static boolean isListNotModified(ServletWebRequest request, ItemRepository itemRepository) {
+        return isNotModified(request, itemRepository, "m" + itemRepository.getModificationCount());
+    }
+
+    private static boolean isNotModified(ServletWebRequest request, ItemRepository itemRepository, String version) {
+        long lastModified = itemRepository.getLastModified();
+        String etag = "W/\"" + itemRepository.getEpoch() + "-" + version + "-" + LocaleContextHolder.getLocale().toLanguageTag() + "\"";
+
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
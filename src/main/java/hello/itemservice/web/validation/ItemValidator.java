@@ -1,6 +1,8 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.validation.CrossFieldRule;
+import hello.itemservice.validation.TotalPriceMinRule;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.Errors;
@@ -15,6 +17,9 @@ public class ItemValidator implements Validator {
     *  validate(Object target, Errors errors) : 검증 대상 객체와 BindingResult
     * */
 
+    //@TotalPriceMin 과 같은 규칙 객체를 사용한다.
+    private final CrossFieldRule totalPriceMin = new TotalPriceMinRule(10000, "price", "quantity");
+
     @Override
     public boolean supports(Class<?> clazz) {
         return Item.class.isAssignableFrom(clazz);
@@ -37,11 +42,11 @@ public class ItemValidator implements Validator {
             errors.rejectValue("quantity", "max", new Object[]{9999}, null);
         }
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                errors.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+        //특정 필드가 아닌 복합 룰 검증 (가격, 수량에 이미 오류가 있으면 검사하지 않는다)
+        if (!errors.hasFieldErrors("price") && !errors.hasFieldErrors("quantity")) {
+            Object[] arguments = totalPriceMin.check(new Object[]{item.getPrice(), item.getQuantity()});
+            if (arguments != null) {
+                errors.reject(totalPriceMin.getErrorCode(), arguments, null);
             }
         }
     }
@@ -0,0 +1,62 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+/*
+*  [전체 목록 스트리밍]
+*  th:each="item : ${items}" 에 넘기는 지연(lazy) 목록. 템플릿이 한 줄씩 꺼낼 때 저장소에서 한 페이지씩 읽는다.
+*  FLUSH_EVERY 개를 꺼낼 때마다 응답 버퍼를 flush 하므로, 이미 만든 행은 바로 브라우저로 나간다. (chunked 전송)
+*
+*  Thymeleaf 가 응답 Writer 에 바로 쓰도록(spring.thymeleaf.servlet.produce-partial-output-while-processing=true) 해야 한다.
+*  서버에는 한 페이지의 상품과 응답 버퍼만 남으므로 목록이 커져도 메모리 사용량과 첫 바이트까지의 시간이 늘지 않는다.
+*  한 번만 순회할 수 있다.
+* */
+public class StreamingItems implements Iterable<Item> {
+
+    static final int FLUSH_EVERY = ItemPage.MAX_SIZE;
+
+    private final Iterator<Item> items;
+    private final HttpServletResponse response;
+
+    public StreamingItems(Iterator<Item> items, HttpServletResponse response) {
+        this.items = items;
+        this.response = response;
+    }
+
+    @Override
+    public Iterator<Item> iterator() {
+        return new Iterator<>() {
+
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public Item next() {
+                if (count > 0 && count % FLUSH_EVERY == 0) {
+                    flush();
+                }
+                count++;
+                return items.next();
+            }
+        };
+    }
+
+    private void flush() {
+        try {
+            response.flushBuffer();
+        } catch (IOException e) {
+            //클라이언트가 연결을 끊으면 더 만들지 않고 렌더링을 멈춘다.
+            throw new UncheckedIOException(e);
+        }
+    }
+}
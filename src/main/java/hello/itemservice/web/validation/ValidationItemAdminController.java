@@ -0,0 +1,33 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.batch.BatchValidationReport;
+import hello.itemservice.web.validation.batch.ItemBatchValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/validation/api/admin/items")
+@RequiredArgsConstructor
+public class ValidationItemAdminController {
+
+    private final ItemRepository itemRepository;
+    private final ItemBatchValidator itemBatchValidator;
+
+    /*
+    *  [전체 재검증]
+    *  POST /validation/api/admin/items/revalidate
+    *  검증 규칙이 바뀌었거나 이관 전에 저장된 상품 전체를 다시 검증하고, 규칙을 어긴 상품 ID 와 처리량을 반환한다.
+    * */
+    @PostMapping("/revalidate")
+    public BatchValidationReport revalidate() {
+        BatchValidationReport report = itemBatchValidator.validate(itemRepository.findAll());
+        log.info("전체 재검증 total={}, invalid={}, elapsed={}ms, items/s={}",
+                report.getTotal(), report.getInvalid(), report.getElapsedMillis(), report.getItemsPerSecond());
+        return report;
+    }
+}
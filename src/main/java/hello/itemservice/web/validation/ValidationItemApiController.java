@@ -1,24 +1,132 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.validation.bulk.BulkImportResult;
+import hello.itemservice.web.validation.bulk.ItemBulkImporter;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import hello.itemservice.web.validation.error.ApiErrors;
+import hello.itemservice.web.validation.export.ItemExportFormat;
+import hello.itemservice.web.validation.export.ItemExporter;
+import hello.itemservice.web.validation.failfast.FailFastError;
+import hello.itemservice.web.validation.failfast.FailFastValidation;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+/*
+*  [상품 API]
+*  요청, 응답 본문은 JSON 외에 CBOR(application/cbor), Smile(application/x-jackson-smile)도 사용할 수 있다. (ItemApiCodecs)
+*  요청 형식은 Content-Type, 응답 형식은 Accept 로 고른다. 검증과 오류 응답(ApiError)은 형식과 관계없이 같다.
+* */
 @Slf4j
 @RestController
 @RequestMapping("/validation/api/items")
+@RequiredArgsConstructor
 public class ValidationItemApiController {
 
+    private final ItemRepository itemRepository;
+    private final ItemBulkImporter itemBulkImporter;
+    private final ItemExporter itemExporter;
+    private final ApiErrors apiErrors;
+
+    /*
+    *  [커서 기반 목록 조회]
+    *  GET /validation/api/items?cursor={마지막으로 받은 ID}&size={페이지 크기}
+    *  응답의 nextCursor 를 다음 요청의 cursor 로 넘기면 된다. (마지막 페이지면 nextCursor = null)
+    * */
+    @GetMapping
+    public ItemPage items(@RequestParam(required = false) Long cursor,
+                          @RequestParam(defaultValue = "${item.page.size:20}") int size) {
+        return itemRepository.findPage(cursor, size);
+    }
+
+    /*
+    *  [가격, 수량 범위 검색]
+    *  GET /validation/api/items/search?minPrice=10000&maxPrice=50000
+    *  GET /validation/api/items/search?maxQuantity=9
+    *  가격, 수량 보조 인덱스를 사용하므로 결과 수에 비례하는 시간에 응답한다.
+    * */
+    @GetMapping("/search")
+    public List<Item> search(@ModelAttribute ItemSearchCond cond,
+                             @RequestParam(defaultValue = "${item.page.size:20}") int limit) {
+        return itemRepository.search(cond, limit);
+    }
+
+    /*
+    *  [대량 등록]
+    *  POST /validation/api/items/bulk
+    *  Content-Type: application/json      -> [{"itemName": "A", "price": 10000, "quantity": 10}, ...]
+    *  Content-Type: application/x-ndjson  -> 한 줄에 상품 하나
+    *  Content-Type: application/cbor, application/x-jackson-smile -> 같은 구조의 배열 또는 상품 값을 이어쓴 스트림
+    *
+    *  addItem 과 같은 검증(totalPriceMin 포함)을 통과한 상품만 저장하고, 저장된 상품 수와 검증에 실패한 상품(순서, 오류 코드)을 요청 순서대로 반환한다.
+    * */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.APPLICATION_CBOR_VALUE, ItemApiCodecs.APPLICATION_SMILE_VALUE})
+    public BulkImportResult bulk(InputStream body, @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+        BulkImportResult result = itemBulkImporter.importItems(body, contentType);
+        log.info("대량 등록 total={}, saved={}, rejected={}", result.getTotal(), result.getSaved(), result.getRejected());
+        return result;
+    }
+
+    /*
+    *  [전체 내보내기]
+    *  GET /validation/api/items/export?format=ndjson|csv|cbor|smile&fromId={이어받을 ID}
+    *  Accept-Encoding 이 gzip 을 허용하면 압축해서 내보낸다. (curl --compressed, gzip;q=0 이면 압축하지 않는다)
+    *  응답은 별도 쓰레드에서 스트리밍으로 쓰므로 요청 쓰레드를 오래 붙잡지 않는다.
+    * */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false) Long fromId,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ItemExportFormat exportFormat = ItemExportFormat.from(format);
+        boolean gzip = ItemExporter.acceptsGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> itemExporter.export(exportFormat, fromId, gzip, out));
+    }
+
+    /*
+    *  [fail-fast]
+    *  validation.fail-fast.endpoints[ValidationItemApiController.addItem]=true 이거나 X-Validation-Fail-Fast: true 요청이면
+    *  첫 번째 오류에서 검증을 멈추고 400 + {"code": ..., "field": ...} 만 응답한다.
+    *
+    *  [검증 오류 응답]
+    *  그 외의 검증 오류는 [{"field": ..., "code": ..., "message": ...}] 로 응답한다. 메시지는 요청 로케일로 만든다.
+    *  X-Error-Verbosity: code | message | detail 로 담는 정보의 양을 고른다. (ApiErrorVerbosity 참고)
+    * */
     @PostMapping("/add")
-    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult) {
+    public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult, Locale locale,
+                          @RequestHeader(value = "${validation.errors.header:X-Error-Verbosity}", required = false) String verbosity) {
 
         log.info("API 컨트롤러 호출");
 
         if (bindingResult.hasErrors()) {
+            if (FailFastValidation.isApplied()) {
+                return ResponseEntity.badRequest().body(FailFastError.of(bindingResult));
+            }
             log.info("검증 오류 발생 errors={}", bindingResult);
-            return bindingResult.getAllErrors();
+            return apiErrors.of(bindingResult, locale, verbosity);
         }
 
         log.info("성공 로직 실행");
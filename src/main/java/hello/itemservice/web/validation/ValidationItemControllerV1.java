@@ -1,17 +1,20 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationPhases;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -20,18 +23,44 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ValidationItemControllerV1 {
 
+    //errors 의 키 -> 메트릭 오류 코드 (V2 의 오류 코드와 같다), globalError 는 글로벌 오류
+    private static final Map<String, String> ERROR_CODES = Map.of(
+            "itemName", "required", "price", "range", "quantity", "max", "globalError", "totalPriceMin");
+
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "${item.page.size:20}") int size,
+                        Model model, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(cursor, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
+        return "validation/v1/items";
+    }
+
+    /*
+    *  [전체 목록 스트리밍]
+    *  모든 상품을 한 페이지에 보여준다. 목록을 미리 만들지 않고 렌더링하면서 읽고, 100 행마다 브라우저로 내보낸다.
+    * */
+    @GetMapping("/all")
+    public String allItems(Model model, HttpServletResponse response, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        model.addAttribute("items", new StreamingItems(itemRepository.iterate(null), response));
         return "validation/v1/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/item";
     }
@@ -86,27 +115,32 @@ public class ValidationItemControllerV1 {
         //검증에 실패하면 다시 입력 폼으로
         if (!errors.isEmpty()) {
             log.info("errors = {} ", errors);
+            errors.keySet().forEach(key ->
+                    ValidationPhases.reject(ERROR_CODES.get(key), "globalError".equals(key) ? null : key));
             model.addAttribute("errors", errors);
             return "validation/v1/addForm";
         }
 
         //성공 로직
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = ValidationPhases.persist(() -> itemRepository.save(item));
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true);
         return "redirect:/validation/v1/items/{itemId}";
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v1/editForm";
     }
 
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @ModelAttribute Item item) {
-        itemRepository.update(itemId, item);
+        ValidationPhases.persist(() -> itemRepository.update(itemId, item));
         return "redirect:/validation/v1/items/{itemId}";
     }
 
@@ -1,7 +1,9 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.metrics.ValidationPhases;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import lombok.RequiredArgsConstructor;
@@ -11,11 +13,18 @@ import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.util.List;
 
+/*
+*  [Bean Validation]
+*  필드 제약과 특정 필드가 아닌 복합 룰(totalPriceMin)을 모두 Item 의 애노테이션으로 검증한다.
+*  복합 룰은 클래스 레벨 제약(@TotalPriceMin)이라 필드 제약과 같은 검증에서 함께 실행되고, 글로벌 오류로 bindingResult 에 담긴다.
+*  따라서 핸들러는 bindingResult.hasErrors() 만 확인한다.
+* */
 @Slf4j
 @Controller
 @RequestMapping("/validation/v3/items")
@@ -25,15 +34,37 @@ public class ValidationItemControllerV3 {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "${item.page.size:20}") int size,
+                        Model model, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(cursor, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
+        return "validation/v3/items";
+    }
+
+    /*
+    *  [전체 목록 스트리밍]
+    *  모든 상품을 한 페이지에 보여준다. 목록을 미리 만들지 않고 렌더링하면서 읽고, 100 행마다 브라우저로 내보낸다.
+    * */
+    @GetMapping("/all")
+    public String allItems(Model model, HttpServletResponse response, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        model.addAttribute("items", new StreamingItems(itemRepository.iterate(null), response));
         return "validation/v3/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v3/item";
     }
@@ -47,14 +78,6 @@ public class ValidationItemControllerV3 {
 //    @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors={} ", bindingResult);
@@ -71,14 +94,6 @@ public class ValidationItemControllerV3 {
     @PostMapping("/add")
     public String addItem2(@Validated(SaveCheck.class) @ModelAttribute Item item, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors={} ", bindingResult);
@@ -86,15 +101,18 @@ public class ValidationItemControllerV3 {
         }
 
         //성공 로직
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = ValidationPhases.persist(() -> itemRepository.save(item));
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true);
         return "redirect:/validation/v3/items/{itemId}";
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v3/editForm";
     }
@@ -102,14 +120,6 @@ public class ValidationItemControllerV3 {
 //    @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute Item item, BindingResult bindingResult) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if (bindingResult.hasErrors()) {
             log.info("errors={}", bindingResult);
             return "validation/v3/editForm";
@@ -122,20 +132,12 @@ public class ValidationItemControllerV3 {
     @PostMapping("/{itemId}/edit")
     public String editV2(@PathVariable Long itemId, @Validated(UpdateCheck.class) @ModelAttribute Item item, BindingResult bindingResult) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (item.getPrice() != null && item.getQuantity() != null) {
-            int resultPrice = item.getPrice() * item.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if (bindingResult.hasErrors()) {
             log.info("errors={}", bindingResult);
             return "validation/v3/editForm";
         }
 
-        itemRepository.update(itemId, item);
+        ValidationPhases.persist(() -> itemRepository.update(itemId, item));
         return "redirect:/validation/v3/items/{itemId}";
     }
 
@@ -1,22 +1,34 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemVersionConflictException;
+import hello.itemservice.web.metrics.ValidationPhases;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
 import hello.itemservice.web.validation.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 
+/*
+*  [폼 객체 분리 - ItemSaveForm, ItemUpdateForm]
+*  등록, 수정 요구사항이 다르므로 Item 대신 폼 객체를 검증한다.
+*  특정 필드가 아닌 복합 룰(totalPriceMin)은 폼의 클래스 레벨 제약(@TotalPriceMin)이 필드 제약과 함께 검증한다.
+*  따라서 핸들러는 bindingResult.hasErrors() 만 확인한다.
+* */
 @Slf4j
 @Controller
 @RequestMapping("/validation/v4/items")
@@ -26,15 +38,37 @@ public class ValidationItemControllerV4 {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "${item.page.size:20}") int size,
+                        Model model, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        ItemPage page = itemRepository.findPage(cursor, size);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
+        return "validation/v4/items";
+    }
+
+    /*
+    *  [전체 목록 스트리밍]
+    *  모든 상품을 한 페이지에 보여준다. 목록을 미리 만들지 않고 렌더링하면서 읽고, 100 행마다 브라우저로 내보낸다.
+    * */
+    @GetMapping("/all")
+    public String allItems(Model model, HttpServletResponse response, ServletWebRequest request) {
+        if (ItemConditionalRequests.isListNotModified(request, itemRepository)) {
+            return null;
+        }
+        model.addAttribute("items", new StreamingItems(itemRepository.iterate(null), response));
         return "validation/v4/items";
     }
 
     @GetMapping("/{itemId}")
-    public String item(@PathVariable long itemId, Model model) {
+    public String item(@PathVariable long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/item";
     }
@@ -48,14 +82,6 @@ public class ValidationItemControllerV4 {
     @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         //검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()) {
             log.info("errors={} ", bindingResult);
@@ -68,15 +94,18 @@ public class ValidationItemControllerV4 {
         item.setPrice(form.getPrice());
         item.setQuantity(form.getQuantity());
 
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = ValidationPhases.persist(() -> itemRepository.save(item));
         redirectAttributes.addAttribute("itemId", savedItem.getId());
         redirectAttributes.addAttribute("status", true);
         return "redirect:/validation/v4/items/{itemId}";
     }
 
     @GetMapping("/{itemId}/edit")
-    public String editForm(@PathVariable Long itemId, Model model) {
+    public String editForm(@PathVariable Long itemId, Model model, ServletWebRequest request) {
         Item item = itemRepository.findById(itemId);
+        if (ItemConditionalRequests.isNotModified(request, itemRepository, item)) {
+            return null;
+        }
         model.addAttribute("item", item);
         return "validation/v4/editForm";
     }
@@ -84,14 +113,6 @@ public class ValidationItemControllerV4 {
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
 
-        //특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
-            }
-        }
-
         if (bindingResult.hasErrors()) {
             log.info("errors={}", bindingResult);
             return "validation/v4/editForm";
@@ -101,8 +122,21 @@ public class ValidationItemControllerV4 {
         itemParam.setItemName(form.getItemName());
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
-
-        itemRepository.update(itemId, itemParam);
+        itemParam.setVersion(form.getVersion());
+
+        Item updated;
+        try {
+            updated = ValidationPhases.persist(() -> itemRepository.update(itemId, itemParam));
+        } catch (ItemVersionConflictException e) {
+            //다른 사용자가 먼저 수정했다. 입력한 값은 그대로 두고 글로벌 오류로 알려준다.
+            log.info("상품 수정 충돌 itemId={}, expected={}, current={}", itemId, e.getExpectedVersion(), e.getCurrentVersion());
+            bindingResult.reject("versionConflict", new Object[]{e.getCurrentVersion()}, null);
+            return "validation/v4/editForm";
+        }
+        if (updated == null) {
+            //없는 상품 -> 상품 상세로 리다이렉트하지 않고 404 로 응답한다.
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "상품이 없습니다. itemId=" + itemId);
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 
@@ -0,0 +1,30 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+public class BatchValidationReport {
+
+    private final int total;
+    private final List<ItemViolation> violations;
+    private final long elapsedMillis;
+    private final long itemsPerSecond;
+
+    public BatchValidationReport(int total, List<ItemViolation> violations, long elapsedNanos) {
+        this.total = total;
+        this.violations = List.copyOf(violations);
+        this.elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        this.itemsPerSecond = elapsedNanos == 0 ? 0 : total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public int getInvalid() {
+        return violations.size();
+    }
+
+    public long[] getInvalidIds() {
+        return violations.stream().mapToLong(ItemViolation::getItemId).toArray();
+    }
+}
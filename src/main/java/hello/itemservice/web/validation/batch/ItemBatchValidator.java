@@ -0,0 +1,119 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.validation.ItemValidator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+*  [대량 재검증]
+*  상품 목록을 반씩 나누어 ForkJoinPool 에서 병렬로 검증한다. (THRESHOLD 개 이하가 되면 더 나누지 않고 직접 검증)
+*  규칙은 ItemValidator 와 Item 의 Bean Validation 애노테이션(SaveCheck 그룹)을 모두 적용한다.
+*
+*  [공유 상태 없음]
+*  상품마다 BindingResult 를 새로 만들고, 각 작업은 자신이 맡은 구간의 결과 목록만 반환한다.
+*  결과는 join 하면서 순서대로 이어붙이므로 쓰레드 사이에 공유하는 가변 객체가 없다.
+* */
+@Component
+public class ItemBatchValidator implements DisposableBean {
+
+    private static final int THRESHOLD = 1024;
+
+    private final ItemValidator itemValidator;
+    private final SmartValidator beanValidator;
+    private final ForkJoinPool pool;
+
+    public ItemBatchValidator(ItemValidator itemValidator, Validator validator) {
+        this.itemValidator = itemValidator;
+        this.beanValidator = new CrossFieldValidatorAdapter(validator);
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchValidationReport validate(List<Item> items) {
+        long start = System.nanoTime();
+        List<ItemViolation> violations = pool.invoke(new ValidateTask(items, 0, items.size()));
+        return new BatchValidationReport(items.size(), violations, System.nanoTime() - start);
+    }
+
+    private ItemViolation validate(Item item) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        itemValidator.validate(item, bindingResult);
+        beanValidator.validate(item, bindingResult, SaveCheck.class);
+        if (!bindingResult.hasErrors()) {
+            return null;
+        }
+
+        //두 규칙이 같은 오류를 다른 코드로 낼 수 있으므로(required, NotBlank) 코드 단위로만 중복을 없앤다.
+        Set<String> errors = new LinkedHashSet<>();
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            if (error instanceof FieldError) {
+                errors.add(error.getCode() + "." + ((FieldError) error).getField());
+            } else {
+                errors.add(error.getCode());
+            }
+        }
+        return new ItemViolation(item.getId(), new ArrayList<>(errors));
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private class ValidateTask extends RecursiveTask<List<ItemViolation>> {
+
+        private final List<Item> items;
+        private final int from;
+        private final int to;
+
+        ValidateTask(List<Item> items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<ItemViolation> compute() {
+            if (to - from <= THRESHOLD) {
+                List<ItemViolation> violations = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    ItemViolation violation = validate(items.get(i));
+                    if (violation != null) {
+                        violations.add(violation);
+                    }
+                }
+                return violations;
+            }
+
+            int middle = (from + to) >>> 1;
+            ValidateTask left = new ValidateTask(items, from, middle);
+            ValidateTask right = new ValidateTask(items, middle, to);
+            left.fork();
+            List<ItemViolation> rightResult = right.compute();
+            List<ItemViolation> leftResult = left.join();
+
+            if (rightResult.isEmpty()) {
+                return leftResult;
+            }
+            List<ItemViolation> merged = new ArrayList<>(leftResult.size() + rightResult.size());
+            merged.addAll(leftResult);
+            merged.addAll(rightResult);
+            return merged;
+        }
+    }
+}
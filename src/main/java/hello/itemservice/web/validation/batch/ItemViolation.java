@@ -0,0 +1,21 @@
+package hello.itemservice.web.validation.batch;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+*  [검증에 실패한 상품]
+*  errors : "{오류 코드}.{필드}", 글로벌 오류는 "{오류 코드}"
+* */
+@Getter
+public class ItemViolation {
+
+    private final Long itemId;
+    private final List<String> errors;
+
+    public ItemViolation(Long itemId, List<String> errors) {
+        this.itemId = itemId;
+        this.errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,25 @@
+package hello.itemservice.web.validation.bulk;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BulkImportResult {
+
+    private final int total;
+    private final int saved;
+    private final int rejected;
+    //검증에 실패한 상품만 요청 순서대로 담는다. (저장된 상품은 개수만 센다)
+    private final List<BulkItemResult> rejectedItems;
+    //요청 본문이 JSON 형식이 아니어서 중간에 읽기를 멈춘 경우의 사유. 그 앞까지의 상품은 처리되어 있다.
+    private final String error;
+
+    public BulkImportResult(int total, int saved, List<BulkItemResult> rejectedItems, String error) {
+        this.total = total;
+        this.saved = saved;
+        this.rejected = total - saved;
+        this.rejectedItems = rejectedItems;
+        this.error = error;
+    }
+}
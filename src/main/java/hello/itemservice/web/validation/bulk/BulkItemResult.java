@@ -0,0 +1,22 @@
+package hello.itemservice.web.validation.bulk;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/*
+*  [검증에 실패한 상품 한 건]
+*  index  : 요청 본문에서의 순서 (0 부터)
+*  errors : 검증 오류 코드 - "{오류 코드}.{필드}", 글로벌 오류는 "{오류 코드}"
+* */
+@Getter
+public class BulkItemResult {
+
+    private final int index;
+    private final List<String> errors;
+
+    public BulkItemResult(int index, List<String> errors) {
+        this.index = index;
+        this.errors = List.copyOf(errors);
+    }
+}
@@ -0,0 +1,236 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import hello.itemservice.config.ItemBulkProperties;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+*  [대량 등록]
+*  요청 본문(JSON 배열 또는 NDJSON, CBOR/Smile 배열 또는 이어쓴 값)을 스트리밍으로 읽으면서 chunkSize 개씩 청크로 묶어 작업 쓰레드에 넘긴다.
+*  작업 쓰레드는 청크를 검증하고, 검증을 통과한 상품만 모아서 한 번에 저장한다. (ItemRepository.saveAll)
+*
+*  [메모리 상한]
+*  처리중인 청크 수를 Semaphore 로 제한한다. 한도에 걸리면 요청 본문을 더 읽지 않고 기다리므로,
+*  업로드가 아무리 커도 메모리에 올라가는 상품은 chunkSize * maxInFlightChunks 개를 넘지 않는다.
+*  끝난 청크는 읽는 도중에 바로 결과에 합친다. 저장된 상품은 개수만 세고, 결과 객체는 검증에 실패한 상품만 남긴다.
+*  (결과 목록은 실패한 상품 수만큼만 커진다)
+* */
+@Slf4j
+@Component
+public class ItemBulkImporter implements DisposableBean {
+
+    private final ItemApiCodecs codecs;
+    private final SmartValidator validator;
+    private final ItemRepository itemRepository;
+    private final int chunkSize;
+    private final Semaphore inFlight;
+    private final ExecutorService executor;
+
+    public ItemBulkImporter(ItemApiCodecs codecs, Validator validator,
+                            ItemRepository itemRepository, ItemBulkProperties properties) {
+        this.codecs = codecs;
+        this.validator = new CrossFieldValidatorAdapter(validator);
+        this.itemRepository = itemRepository;
+        this.chunkSize = Math.max(1, properties.getChunkSize());
+        this.inFlight = new Semaphore(Math.max(1, properties.getMaxInFlightChunks()));
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "item-bulk-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * JSON 배열과 NDJSON 을 모두 읽을 수 있다. (최상위 배열이면 배열의 원소를 하나씩 읽는다)
+     */
+    public BulkImportResult importItems(InputStream body) throws IOException {
+        return importItems(body, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * contentType 이 CBOR, Smile 이면 같은 구조(배열 또는 최상위 값을 이어쓴 스트림)를 바이너리로 읽는다.
+     */
+    public BulkImportResult importItems(InputStream body, MediaType contentType) throws IOException {
+        ObjectReader formReader = codecs.forContentType(contentType).readerFor(ItemSaveForm.class);
+        Deque<Future<ChunkResult>> chunks = new ArrayDeque<>();
+        Totals totals = new Totals();
+        String error = null;
+        List<Entry> chunk = new ArrayList<>(chunkSize);
+
+        try (MappingIterator<ItemSaveForm> forms = formReader.readValues(body)) {
+            int index = 0;
+            while (forms.hasNextValue()) {
+                try {
+                    chunk.add(new Entry(index, forms.nextValue()));
+                } catch (JsonMappingException e) {
+                    //타입이 맞지 않는 값("price": "abc") 은 해당 상품만 실패로 처리하고 다음 상품을 계속 읽는다.
+                    chunk.add(new Entry(index, null));
+                }
+                index++;
+                if (chunk.size() == chunkSize) {
+                    chunks.add(submit(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                    //요청 순서를 지키기 위해 앞에서부터 끝난 청크만 합친다.
+                    while (!chunks.isEmpty() && chunks.peekFirst().isDone()) {
+                        totals.add(await(chunks.pollFirst()));
+                    }
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.info("대량 등록 요청 본문 읽기 실패 error={}", e.getOriginalMessage());
+            error = e.getOriginalMessage();
+        }
+        //본문이 중간에 깨져도 그 앞까지 읽은 상품은 마지막 청크로 처리한다.
+        if (!chunk.isEmpty()) {
+            chunks.add(submit(chunk));
+        }
+
+        while (!chunks.isEmpty()) {
+            totals.add(await(chunks.pollFirst()));
+        }
+        return new BulkImportResult(totals.total, totals.saved, totals.rejectedItems, error);
+    }
+
+    private Future<ChunkResult> submit(List<Entry> chunk) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 등록이 중단되었습니다.", e);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    return process(chunk);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private ChunkResult process(List<Entry> chunk) {
+        List<BulkItemResult> rejected = new ArrayList<>();
+        List<Item> valid = new ArrayList<>(chunk.size());
+
+        for (Entry entry : chunk) {
+            if (entry.form == null) {
+                rejected.add(new BulkItemResult(entry.index, List.of("typeMismatch")));
+                continue;
+            }
+            List<String> errors = validate(entry.form);
+            if (errors.isEmpty()) {
+                valid.add(new Item(entry.form.getItemName(), entry.form.getPrice(), entry.form.getQuantity()));
+            } else {
+                rejected.add(new BulkItemResult(entry.index, errors));
+            }
+        }
+
+        itemRepository.saveAll(valid);
+        return new ChunkResult(chunk.size(), valid.size(), rejected);
+    }
+
+    private List<String> validate(ItemSaveForm form) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        //필드 제약과 ItemSaveForm 의 @TotalPriceMin(복합 룰)을 한 번에 검증한다.
+        validator.validate(form, bindingResult);
+
+        List<String> errors = new ArrayList<>(bindingResult.getErrorCount());
+        for (ObjectError error : bindingResult.getAllErrors()) {
+            if (error instanceof FieldError) {
+                errors.add(error.getCode() + "." + ((FieldError) error).getField());
+            } else {
+                errors.add(error.getCode());
+            }
+        }
+        return errors;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("대량 등록이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("대량 등록 처리 실패", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static final class ChunkResult {
+
+        private final int total;
+        private final int saved;
+        private final List<BulkItemResult> rejectedItems;
+
+        private ChunkResult(int total, int saved, List<BulkItemResult> rejectedItems) {
+            this.total = total;
+            this.saved = saved;
+            this.rejectedItems = rejectedItems;
+        }
+    }
+
+    private static final class Totals {
+
+        private int total;
+        private int saved;
+        private final List<BulkItemResult> rejectedItems = new ArrayList<>();
+
+        private void add(ChunkResult chunk) {
+            total += chunk.total;
+            saved += chunk.saved;
+            rejectedItems.addAll(chunk.rejectedItems);
+        }
+    }
+
+    private static final class Entry {
+
+        private final int index;
+        private final ItemSaveForm form; // null : 읽기 실패
+
+        private Entry(int index, ItemSaveForm form) {
+            this.index = index;
+            this.form = form;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package hello.itemservice.web.validation.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+/*
+*  [상품 API 바이너리 형식 - CBOR, Smile]
+*  대량 동기화 클라이언트, 내부 서비스는 JSON 텍스트 대신 같은 구조의 바이너리 형식으로 주고받을 수 있다.
+*  (필드 이름, 숫자를 문자열로 바꾸지 않아서 파싱, 생성 비용과 크기가 줄어든다)
+*
+*  - application/json              : 기본
+*  - application/cbor              : CBOR (RFC 8949)
+*  - application/x-jackson-smile   : Smile (반복되는 필드 이름을 참조로 줄인다)
+*
+*  요청은 Content-Type, 응답은 Accept 로 고른다. (MVC 메시지 컨버터, 리액티브 코덱)
+*  세 ObjectMapper 는 스프링 부트의 Jackson 설정(spring.jackson.*)을 똑같이 적용해서 만든다. -> 같은 필드, 같은 검증
+*
+*  ObjectMapper 빈을 더 등록하면 스프링 부트의 기본 ObjectMapper 자동 설정이 꺼지므로 이 객체 하나로 묶어서 등록한다.
+* */
+public class ItemApiCodecs {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.APPLICATION_CBOR;
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+    //여러 상품을 이어서 쓴 CBOR 스트림 (RFC 8742, 내보내기)
+    public static final MediaType APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
+
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    public ItemApiCodecs(ObjectMapper json, ObjectMapper cbor, ObjectMapper smile) {
+        this.json = json;
+        this.cbor = cbor;
+        this.smile = smile;
+    }
+
+    public ObjectMapper getJson() {
+        return json;
+    }
+
+    public ObjectMapper getCbor() {
+        return cbor;
+    }
+
+    public ObjectMapper getSmile() {
+        return smile;
+    }
+
+    /**
+     * Content-Type 에 맞는 ObjectMapper. 없거나 JSON 계열(application/json, application/x-ndjson)이면 JSON
+     */
+    public ObjectMapper forContentType(MediaType contentType) {
+        if (contentType == null) {
+            return json;
+        }
+        if (APPLICATION_CBOR.isCompatibleWith(contentType) || APPLICATION_CBOR_SEQ.isCompatibleWith(contentType)) {
+            return cbor;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smile;
+        }
+        return json;
+    }
+}
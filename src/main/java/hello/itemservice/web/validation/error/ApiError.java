@@ -0,0 +1,31 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+/*
+*  [API 검증 오류]
+*  BindingResult 의 FieldError, ObjectError 를 그대로 직렬화하면 메시지 코드 목록(codes), 인자(arguments), bindingFailure 등이
+*  모두 나가서 오류 하나가 수백 바이트가 된다. 클라이언트가 쓰는 필드, 오류 코드, 메시지만 담는다.
+*
+*  field 는 글로벌 오류(totalPriceMin)면 null 이다. 직렬화는 ApiErrorSerializer 가 한다.
+* */
+@Getter
+@JsonSerialize(using = ApiErrorSerializer.class)
+public class ApiError {
+
+    private final String field;
+    private final String code;
+    private final String message;
+    private final Object rejectedValue;
+    //DETAIL 이면 거절된 값이 null 이어도 내보낸다.
+    private final boolean detail;
+
+    ApiError(String field, String code, String message, Object rejectedValue, boolean detail) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+        this.rejectedValue = rejectedValue;
+        this.detail = detail;
+    }
+}
@@ -0,0 +1,46 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/*
+*  ApiError 전용 직렬화기
+*  빈 프로퍼티 탐색, 어노테이션 처리 없이 필드를 순서대로 쓴다. 필드 이름은 미리 인코딩(SerializedString)해 두고 재사용한다.
+*  Jackson 은 @JsonSerialize 로 지정한 직렬화기를 한 번 만들어서 ObjectMapper 안에 캐시한다.
+* */
+class ApiErrorSerializer extends StdSerializer<ApiError> {
+
+    private static final SerializableString FIELD = new SerializedString("field");
+    private static final SerializableString CODE = new SerializedString("code");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString REJECTED_VALUE = new SerializedString("rejectedValue");
+
+    public ApiErrorSerializer() {
+        super(ApiError.class);
+    }
+
+    @Override
+    public void serialize(ApiError error, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        if (error.getField() != null) {
+            generator.writeFieldName(FIELD);
+            generator.writeString(error.getField());
+        }
+        generator.writeFieldName(CODE);
+        generator.writeString(error.getCode());
+        if (error.getMessage() != null) {
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(error.getMessage());
+        }
+        if (error.isDetail() && error.getField() != null) {
+            generator.writeFieldName(REJECTED_VALUE);
+            provider.defaultSerializeValue(error.getRejectedValue(), generator);
+        }
+        generator.writeEndObject();
+    }
+}
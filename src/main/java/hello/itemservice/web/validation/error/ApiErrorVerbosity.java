@@ -0,0 +1,27 @@
+package hello.itemservice.web.validation.error;
+
+/*
+*  API 검증 오류 응답에 담는 정보의 양
+*  - CODE    : 필드, 오류 코드  {"field":"price","code":"Range"}
+*  - MESSAGE : + 요청 로케일로 만든 메시지  {"field":"price","code":"Range","message":"가격은 1000 ~ 1000000 까지 허용합니다."}
+*  - DETAIL  : + 거절된 값  {"field":"price","code":"Range","message":"...","rejectedValue":0}
+* */
+public enum ApiErrorVerbosity {
+
+    CODE, MESSAGE, DETAIL;
+
+    /**
+     * 헤더 값(대소문자 무시)을 읽는다. 없거나 모르는 값이면 defaultVerbosity 를 사용한다.
+     */
+    public static ApiErrorVerbosity from(String value, ApiErrorVerbosity defaultVerbosity) {
+        if (value == null) {
+            return defaultVerbosity;
+        }
+        for (ApiErrorVerbosity verbosity : values()) {
+            if (verbosity.name().equalsIgnoreCase(value.trim())) {
+                return verbosity;
+            }
+        }
+        return defaultVerbosity;
+    }
+}
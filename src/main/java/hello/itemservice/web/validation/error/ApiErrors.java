@@ -0,0 +1,78 @@
+package hello.itemservice.web.validation.error;
+
+import hello.itemservice.config.ValidationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+*  [API 검증 오류 응답]
+*  BindingResult 를 ApiError 목록으로 바꾼다. 메시지는 MessageSource 로 요청 로케일에 맞게 미리 만들어서 담는다.
+*  (클라이언트는 메시지 코드 목록과 인자를 해석하지 않아도 된다)
+*
+*  응답에 담는 정보의 양은 요청 헤더(validation.errors.header, 기본 X-Error-Verbosity: code | message | detail)로 고르고,
+*  헤더가 없으면 validation.errors.verbosity 를 따른다. CODE 면 메시지를 만들지 않는다.
+* */
+@Component
+public class ApiErrors {
+
+    private final MessageSource messageSource;
+    private final ApiErrorVerbosity defaultVerbosity;
+    private final String header;
+
+    public ApiErrors(MessageSource messageSource, ValidationProperties validationProperties) {
+        this.messageSource = messageSource;
+        this.defaultVerbosity = validationProperties.getErrors().getVerbosity();
+        this.header = validationProperties.getErrors().getHeader();
+    }
+
+    /**
+     * verbosity 를 고르는 요청 헤더 이름
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * @param verbosity 요청 헤더 값, null 이면 기본값
+     */
+    public List<ApiError> of(BindingResult bindingResult, Locale locale, String verbosity) {
+        return of(bindingResult, locale, ApiErrorVerbosity.from(verbosity, defaultVerbosity));
+    }
+
+    public List<ApiError> of(BindingResult bindingResult, Locale locale, ApiErrorVerbosity verbosity) {
+        List<ObjectError> errors = bindingResult.getAllErrors();
+        List<ApiError> apiErrors = new ArrayList<>(errors.size());
+        for (ObjectError error : errors) {
+            apiErrors.add(toApiError(error, locale, verbosity));
+        }
+        return apiErrors;
+    }
+
+    private ApiError toApiError(ObjectError error, Locale locale, ApiErrorVerbosity verbosity) {
+        String message = verbosity == ApiErrorVerbosity.CODE ? null : resolve(error, locale);
+        boolean detail = verbosity == ApiErrorVerbosity.DETAIL;
+        if (error instanceof FieldError) {
+            FieldError fieldError = (FieldError) error;
+            return new ApiError(fieldError.getField(), error.getCode(), message,
+                    detail ? fieldError.getRejectedValue() : null, detail);
+        }
+        return new ApiError(null, error.getCode(), message, null, detail);
+    }
+
+    //메시지 코드도 기본 메시지도 없으면 오류 코드를 그대로 쓴다.
+    private String resolve(ObjectError error, Locale locale) {
+        try {
+            return messageSource.getMessage(error, locale);
+        } catch (NoSuchMessageException e) {
+            return error.getCode();
+        }
+    }
+}
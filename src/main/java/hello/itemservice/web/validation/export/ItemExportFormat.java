@@ -0,0 +1,39 @@
+package hello.itemservice.web.validation.export;
+
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+
+public enum ItemExportFormat {
+
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    //상품마다 최상위 값 하나를 구분자 없이 이어쓴다.
+    CBOR(ItemApiCodecs.APPLICATION_CBOR_SEQ),
+    SMILE(ItemApiCodecs.APPLICATION_SMILE);
+
+    private final MediaType mediaType;
+
+    ItemExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 요청 파라미터(ndjson, csv, cbor, smile)를 대소문자 구분 없이 변환한다.
+     */
+    public static ItemExportFormat from(String format) {
+        for (ItemExportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 형식입니다. format=" + format);
+    }
+}
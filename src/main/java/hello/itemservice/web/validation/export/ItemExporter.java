@@ -0,0 +1,176 @@
+package hello.itemservice.web.validation.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/*
+*  [상품 전체 내보내기]
+*  findAll() 처럼 전체 목록을 만들지 않고, 커서 페이지를 한 장씩 읽어서(iterate) 바로 출력 스트림에 쓴다.
+*  한 번에 메모리에 올라가는 상품은 한 페이지(ItemPage.MAX_SIZE) 뿐이므로 상품 수와 관계없이 힙 사용량이 일정하다.
+*  저장소가 MapItemStore 면 내보내기를 시작한 시점의 스냅샷을 읽으므로, 내보내는 도중에 수정된 상품이 섞이지 않는다.
+*  ColumnarItemStore 는 스냅샷이 없어서 내보내는 도중의 수정이 섞일 수 있다. (상품 한 건은 항상 온전하다)
+*
+*  - fromId : 이 ID 부터(포함) 내보낸다. 중간에 끊긴 다운로드를 마지막으로 받은 ID 다음부터 이어받을 수 있다.
+*  - gzip   : 압축하면서 바로 내보낸다. (압축 결과도 메모리에 모으지 않는다)
+* */
+@Component
+@RequiredArgsConstructor
+public class ItemExporter {
+
+    private static final String CSV_HEADER = "id,itemName,price,quantity";
+
+    private final ItemRepository itemRepository;
+    private final ItemApiCodecs codecs;
+
+    public void export(ItemExportFormat format, Long fromId, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+        switch (format) {
+            case CSV:
+                writeCsv(fromId, target);
+                break;
+            case CBOR:
+                writeValues(codecs.getCbor().getFactory().createGenerator(target), fromId, false);
+                break;
+            case SMILE:
+                writeValues(codecs.getSmile().getFactory().createGenerator(target), fromId, false);
+                break;
+            default:
+                writeValues(codecs.getJson().getFactory().createGenerator(target), fromId, true);
+        }
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+        out.flush();
+    }
+
+    /**
+     * Accept-Encoding 이 gzip 을 허용하는지 (RFC 7231)
+     * gzip(x-gzip) 의 q 값이 0 보다 크면 허용한다. gzip 이 없으면 * 의 q 값을 따른다. -> gzip;q=0 은 거절
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length == 0) {
+                continue;
+            }
+            double q = qValue(parts);
+            if ("gzip".equalsIgnoreCase(parts[0]) || "x-gzip".equalsIgnoreCase(parts[0])) {
+                gzip = q;
+            } else if ("*".equals(parts[0])) {
+                any = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    //q 가 없으면 1, 잘못된 값이면 0 (허용하지 않는다)
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            int eq = parts[i].indexOf('=');
+            if (eq > 0 && "q".equalsIgnoreCase(parts[i].substring(0, eq).trim())) {
+                try {
+                    return Double.parseDouble(parts[i].substring(eq + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    //상품마다 최상위 값 하나를 쓴다. NDJSON 이면 줄바꿈으로 구분한다.
+    private void writeValues(JsonGenerator generator, Long fromId, boolean newline) throws IOException {
+        //출력 스트림은 서블릿 컨테이너가 닫는다.
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (newline) {
+            //Jackson 은 최상위 값 사이에 공백(" ")을 넣는다. -> 두 번째 줄부터 공백으로 시작하지 않도록 끈다.
+            generator.setRootValueSeparator(null);
+        }
+
+        Iterator<Item> items = itemRepository.iterate(toCursor(fromId));
+        for (int count = 1; items.hasNext(); count++) {
+            generator.writeObject(items.next());
+            if (newline) {
+                generator.writeRaw('\n');
+            }
+            if (count % ItemPage.MAX_SIZE == 0) {
+                generator.flush();
+            }
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Long fromId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        Iterator<Item> items = itemRepository.iterate(toCursor(fromId));
+        for (int count = 1; items.hasNext(); count++) {
+            Item item = items.next();
+            writer.write(String.valueOf(item.getId()));
+            writer.write(',');
+            writeCsvText(writer, item.getItemName());
+            writer.write(',');
+            writeCsvNumber(writer, item.getPrice());
+            writer.write(',');
+            writeCsvNumber(writer, item.getQuantity());
+            writer.write("\r\n");
+            if (count % ItemPage.MAX_SIZE == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    //fromId 부터 포함해서 내보내므로 커서는 그 앞 ID 가 된다.
+    private static Long toCursor(Long fromId) {
+        return fromId == null ? null : fromId - 1;
+    }
+
+    //RFC 4180 - 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다.
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeCsvNumber(Writer writer, Integer value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
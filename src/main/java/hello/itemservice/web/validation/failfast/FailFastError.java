@@ -0,0 +1,30 @@
+package hello.itemservice.web.validation.failfast;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+/*
+*  fail-fast 응답 본문 - 첫 번째 오류의 코드와 필드만 보낸다. (메시지, 인자, 메시지 코드 목록은 만들지 않는다)
+*  {"code": "NotBlank", "field": "itemName"} / {"code": "totalPriceMin"}
+* */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FailFastError {
+
+    private final String code;
+    private final String field;
+
+    private FailFastError(String code, String field) {
+        this.code = code;
+        this.field = field;
+    }
+
+    public static FailFastError of(BindingResult bindingResult) {
+        ObjectError error = bindingResult.getAllErrors().get(0);
+        String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+        return new FailFastError(error.getCode(), field);
+    }
+}
@@ -0,0 +1,93 @@
+package hello.itemservice.web.validation.failfast;
+
+import hello.itemservice.config.ValidationProperties;
+import hello.itemservice.validation.CompiledBeanValidator;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.metrics.TimedValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.validator.HibernateValidatorConfiguration;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.validation.MessageInterpolatorFactory;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+/*
+*  [fail-fast 검증]
+*  봇, 스크래핑 요청처럼 잘못된 요청이 몰리면 모든 제약을 검사하고 오류 목록을 만드는 비용이 그대로 CPU 를 쓴다.
+*  fail-fast 가 켜진 요청은 첫 번째 오류에서 검증을 멈춘다. (Hibernate Validator failFast, CompiledBeanValidator failFast)
+*
+*  - 엔드포인트별 기본값 : validation.fail-fast.endpoints[컨트롤러.메서드]=true
+*  - 요청별 : X-Validation-Fail-Fast: true
+*
+*  모든 컨트롤러의 @InitBinder 보다 먼저 실행되어 바인더의 검증기를 fail-fast 검증기로 바꾼다.
+*  컨트롤러는 isApplied() 로 fail-fast 로 검증했는지 확인하고 짧은 오류 응답(FailFastError)을 보낼 수 있다.
+* */
+@Slf4j
+@ControllerAdvice
+public class FailFastValidation implements DisposableBean {
+
+    private static final String ATTRIBUTE = FailFastValidation.class.getName() + ".APPLIED";
+
+    private final ValidationProperties.FailFast properties;
+    private final LocalValidatorFactoryBean validatorFactory;
+    private final SmartValidator validator;
+
+    public FailFastValidation(ValidationProperties validationProperties) {
+        this.properties = validationProperties.getFailFast();
+
+        //스프링 부트가 등록한 검증기와 같은 설정에 failFast 만 켠다. (글로벌 Validator 빈이 두 개가 되지 않도록 빈으로 등록하지 않는다)
+        validatorFactory = new LocalValidatorFactoryBean();
+        validatorFactory.setMessageInterpolator(new MessageInterpolatorFactory().getObject());
+        validatorFactory.getValidationPropertyMap().put(HibernateValidatorConfiguration.FAIL_FAST, "true");
+        validatorFactory.afterPropertiesSet();
+
+        CrossFieldValidatorAdapter beanValidator = new CrossFieldValidatorAdapter(validatorFactory);
+        validator = new TimedValidator(validationProperties.isCompiled()
+                ? new CompiledBeanValidator(validatorFactory, beanValidator, true) : beanValidator);
+    }
+
+    @InitBinder
+    public void initBinder(WebDataBinder binder, HttpServletRequest request) {
+        Object target = binder.getTarget();
+        if (target == null || !validator.supports(target.getClass()) || !isFailFast(request)) {
+            return;
+        }
+        binder.replaceValidators(validator);
+        request.setAttribute(ATTRIBUTE, Boolean.TRUE);
+    }
+
+    /**
+     * 현재 요청을 fail-fast 로 검증했는지 확인한다.
+     */
+    public static boolean isApplied() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    private boolean isFailFast(HttpServletRequest request) {
+        if ("true".equalsIgnoreCase(request.getHeader(properties.getHeader()))) {
+            return true;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod)) {
+            return false;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        return properties.isEnabled(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+    }
+
+    @Override
+    public void destroy() {
+        validatorFactory.destroy();
+    }
+}
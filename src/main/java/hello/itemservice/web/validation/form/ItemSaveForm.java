@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.validation.TotalPriceMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,6 +9,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@TotalPriceMin
 public class ItemSaveForm {
 
     @NotBlank
@@ -1,5 +1,6 @@
 package hello.itemservice.web.validation.form;
 
+import hello.itemservice.validation.TotalPriceMin;
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
 
@@ -8,6 +9,7 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
+@TotalPriceMin
 public class ItemUpdateForm {
 
     @NotNull
@@ -22,4 +24,8 @@ public class ItemUpdateForm {
 
     //수정에서는 수량은 자유롭게 변경할 수 있다.
     private Integer quantity;
+
+    //수정 폼을 열었을 때의 상품 version. 그 사이에 다른 사용자가 수정했으면 저장하지 않는다.
+    @NotNull
+    private Long version;
 }
@@ -0,0 +1,138 @@
+package hello.itemservice.web.validation.reactive;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import hello.itemservice.web.validation.error.ApiErrors;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.MediaType;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Locale;
+
+/*
+*  [논블로킹 상품 API]
+*  ValidationItemApiController 와 같은 계약(/validation/api/items)을 함수형 라우터로 제공한다.
+*
+*  - GET  /validation/api/items?cursor=&size=  : 커서 기반 목록 (ItemPage)
+*  - GET  /validation/api/items/search         : 가격, 수량 범위 검색
+*  - POST /validation/api/items/add            : 검증 오류가 있으면 오류 목록(ApiError), 없으면 요청 폼을 그대로 반환
+*  - GET  /validation/api/items/export         : NDJSON 으로 전체 내보내기 (Flux, 상품마다 바로 전송)
+*
+*  요청 본문은 이벤트 루프에서 조금씩 받아서 다 모였을 때 디코딩한다.
+*  Bean Validation 과 totalPriceMin 룰은 MVC 와 같은 검증기로 worker 스케줄러에서 실행한다. (이벤트 루프를 막지 않는다)
+*  저장소 조회는 락이 없는 메모리 조회라서 이벤트 루프에서 바로 처리한다.
+* */
+@Slf4j
+public class ReactiveItemApiHandler {
+
+    private static final String BASE_PATH = "/validation/api/items";
+
+    private final ItemRepository itemRepository;
+    private final Validator validator;
+    private final MessageCodesResolver messageCodesResolver;
+    private final ApiErrors apiErrors;
+    private final Scheduler worker;
+    private final int defaultPageSize;
+
+    public ReactiveItemApiHandler(ItemRepository itemRepository, Validator validator,
+                                  MessageCodesResolver messageCodesResolver, ApiErrors apiErrors,
+                                  Scheduler worker, int defaultPageSize) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+        this.messageCodesResolver = messageCodesResolver;
+        this.apiErrors = apiErrors;
+        this.worker = worker;
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET(BASE_PATH, this::items)
+                .GET(BASE_PATH + "/search", this::search)
+                .POST(BASE_PATH + "/add", this::addItem)
+                .GET(BASE_PATH + "/export", this::export)
+                .build();
+    }
+
+    Mono<ServerResponse> items(ServerRequest request) {
+        Long cursor = longParam(request, "cursor");
+        Integer size = intParam(request, "size");
+        return ServerResponse.ok().bodyValue(itemRepository.findPage(cursor, size == null ? defaultPageSize : size));
+    }
+
+    Mono<ServerResponse> search(ServerRequest request) {
+        ItemSearchCond cond = new ItemSearchCond(intParam(request, "minPrice"), intParam(request, "maxPrice"),
+                intParam(request, "minQuantity"), intParam(request, "maxQuantity"));
+        Integer limit = intParam(request, "limit");
+        return ServerResponse.ok().bodyValue(itemRepository.search(cond, limit == null ? defaultPageSize : limit));
+    }
+
+    Mono<ServerResponse> addItem(ServerRequest request) {
+        Locale locale = request.exchange().getLocaleContext().getLocale();
+        String verbosity = request.headers().firstHeader(apiErrors.getHeader());
+        return request.bodyToMono(ItemSaveForm.class)
+                .onErrorMap(DecodingException.class, e -> new ServerWebInputException("요청 본문을 읽을 수 없습니다.", null, e))
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("요청 본문이 없습니다.")))
+                .publishOn(worker)
+                .flatMap(form -> {
+                    BindingResult bindingResult = validate(form);
+                    if (bindingResult.hasErrors()) {
+                        log.info("검증 오류 발생 errors={}", bindingResult);
+                        return ServerResponse.ok().bodyValue(apiErrors.of(bindingResult, locale, verbosity));
+                    }
+                    return ServerResponse.ok().bodyValue(form);
+                });
+    }
+
+    Mono<ServerResponse> export(ServerRequest request) {
+        Long fromId = longParam(request, "fromId");
+        Long cursor = fromId == null ? null : fromId - 1;
+        //구독할 때 스냅샷을 잡고, 클라이언트가 받는 속도에 맞춰 다음 페이지를 읽는다.
+        Flux<Item> items = Flux.fromIterable(() -> itemRepository.iterate(cursor));
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(items, Item.class);
+    }
+
+    //@RequestBody @Validated ItemSaveForm 과 같은 이름(itemSaveForm)과 메시지 코드로 검증한다.
+    private BindingResult validate(ItemSaveForm form) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "itemSaveForm");
+        bindingResult.setMessageCodesResolver(messageCodesResolver);
+        validator.validate(form, bindingResult);
+        return bindingResult;
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        Long value = longParam(request, name);
+        if (value != null && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+            throw new ServerWebInputException("'" + name + "' 값이 범위를 벗어났습니다.");
+        }
+        return value == null ? null : value.intValue();
+    }
+
+    private static Long longParam(ServerRequest request, String name) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("'" + name + "' 은 숫자여야 합니다.");
+        }
+    }
+}
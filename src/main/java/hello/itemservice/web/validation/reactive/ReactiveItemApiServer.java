@@ -0,0 +1,61 @@
+package hello.itemservice.web.validation.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/*
+*  [논블로킹 API 서버]
+*  Reactor Netty 이벤트 루프(코어 수만큼의 쓰레드)가 모든 연결을 처리한다.
+*  요청 본문을 받는 동안 쓰레드를 붙잡지 않으므로, 느리게 업로드하는 클라이언트가 많아도 쓰레드 수가 늘지 않는다.
+* */
+@Slf4j
+public class ReactiveItemApiServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final Scheduler worker;
+    private volatile DisposableServer server;
+
+    public ReactiveItemApiServer(HttpHandler httpHandler, int port, Scheduler worker) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.worker = worker;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("논블로킹 상품 API 시작 port={}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        server = null;
+        if (current != null) {
+            current.disposeNow();
+        }
+        worker.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 실제로 열린 포트 (설정이 0 이면 시작할 때 정해진다)
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        return current == null ? port : current.port();
+    }
+}
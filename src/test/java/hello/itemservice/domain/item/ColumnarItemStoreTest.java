@@ -0,0 +1,84 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarItemStoreTest {
+
+    ItemRepository itemRepository = new ItemRepository(new ColumnarItemStore(), ItemJournal.NONE);
+
+    @Test
+    void saveAndFind() {
+        //given
+        Item item = itemRepository.save(new Item("상품A", 10000, 10));
+        Item nullFields = itemRepository.save(new Item(null, null, null));
+
+        //when
+        Item findItem = itemRepository.findById(item.getId());
+
+        //then : 저장된 값과 같은 복사본을 반환한다.
+        assertThat(findItem).isEqualTo(item).isNotSameAs(item);
+        assertThat(itemRepository.findById(nullFields.getId())).isEqualTo(nullFields);
+        assertThat(itemRepository.findById(999L)).isNull();
+    }
+
+    @Test
+    void updateItem() {
+        //given
+        Item item = itemRepository.save(new Item("item1", 10000, 10));
+
+        //when : 상품명을 여러 번 바꿔서 상품명 영역 정리(compaction)가 일어나게 한다.
+        for (int i = 0; i < 10_000; i++) {
+            itemRepository.update(item.getId(), new Item("item-updated-" + i, 20000, i));
+        }
+
+        //then
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem.getItemName()).isEqualTo("item-updated-9999");
+        assertThat(findItem.getPrice()).isEqualTo(20000);
+        assertThat(findItem.getQuantity()).isEqualTo(9999);
+    }
+
+    @Test
+    void findPageAcrossChunks() {
+        //given : 청크(4096 개) 경계를 넘도록 저장한다.
+        for (int i = 0; i < 5000; i++) {
+            itemRepository.save(new Item("item" + i, 10000, i));
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(4090L, 10);
+
+        //then
+        assertThat(first.getItems()).extracting("id")
+                .containsExactly(4091L, 4092L, 4093L, 4094L, 4095L, 4096L, 4097L, 4098L, 4099L, 4100L);
+        assertThat(itemRepository.findAll()).hasSize(5000);
+        assertThat(itemRepository.findPage(Long.MAX_VALUE, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void outOfRangeId() {
+        //given
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //then : 청크 번호로 바꿀 수 없는 ID 는 없는 상품으로 처리한다.
+        assertThat(itemRepository.findById(-1L)).isNull();
+        assertThat(itemRepository.findById(1L << 44)).isNull();
+    }
+
+    @Test
+    void search() {
+        //given
+        itemRepository.save(new Item("cheap", 5000, 100));
+        Item middle = itemRepository.save(new Item("middle", 30000, 5));
+
+        //when
+        List<Item> result = itemRepository.search(new ItemSearchCond(10000, 50000, null, null), 10);
+
+        //then
+        assertThat(result).containsExactly(middle);
+    }
+}
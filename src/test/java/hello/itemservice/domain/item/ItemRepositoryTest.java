@@ -3,7 +3,17 @@ package hello.itemservice.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -65,4 +75,218 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void findPage() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(itemRepository.save(new Item("item" + i, 10000, 10)).getId());
+        }
+
+        //when
+        ItemPage first = itemRepository.findPage(null, 2);
+        ItemPage second = itemRepository.findPage(first.getNextCursor(), 2);
+        ItemPage last = itemRepository.findPage(second.getNextCursor(), 2);
+
+        //then
+        assertThat(first.getItems()).extracting("id").containsExactly(ids.get(0), ids.get(1));
+        assertThat(second.getItems()).extracting("id").containsExactly(ids.get(2), ids.get(3));
+        assertThat(last.getItems()).extracting("id").containsExactly(ids.get(4));
+        assertThat(last.isLast()).isTrue();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void versionAndModificationCount() {
+        //given
+        long before = itemRepository.getModificationCount();
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //then
+        assertThat(itemRepository.findById(item.getId()).getVersion()).isEqualTo(2L);
+        assertThat(itemRepository.getModificationCount()).isEqualTo(before + 2);
+        assertThat(itemRepository.getLastModified()).isGreaterThanOrEqualTo(itemRepository.getEpoch());
+    }
+
+    @Test
+    void updateVersionConflict() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        Item first = new Item("itemB", 20000, 20);
+        first.setVersion(1L);
+        Item stale = new Item("itemC", 30000, 30);
+        stale.setVersion(1L);
+
+        //when
+        itemRepository.update(item.getId(), first);
+
+        //then - 같은 version 으로 시작한 두 번째 수정은 반영되지 않는다.
+        assertThatThrownBy(() -> itemRepository.update(item.getId(), stale))
+                .isInstanceOf(ItemVersionConflictException.class);
+        Item findItem = itemRepository.findById(item.getId());
+        assertThat(findItem.getItemName()).isEqualTo("itemB");
+        assertThat(findItem.getVersion()).isEqualTo(2L);
+        assertThat(itemRepository.search(new ItemSearchCond(30000, 30000, null, null), 10)).isEmpty();
+    }
+
+    @Test
+    void updateMissingItem() {
+        //given
+        long before = itemRepository.getModificationCount();
+
+        //when
+        Item updated = itemRepository.update(999L, new Item("itemA", 10000, 10));
+
+        //then : 없는 상품은 만들지 않고 null 을 반환한다.
+        assertThat(updated).isNull();
+        assertThat(itemRepository.findById(999L)).isNull();
+        assertThat(itemRepository.getModificationCount()).isEqualTo(before);
+    }
+
+    @Test
+    void iterate() {
+        //given - 여러 페이지(ItemPage.MAX_SIZE)에 걸친 상품
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(itemRepository.save(new Item("item" + i, 10000, 10)).getId());
+        }
+
+        //when
+        List<Long> iterated = new ArrayList<>();
+        itemRepository.iterate(null).forEachRemaining(item -> iterated.add(item.getId()));
+
+        //then
+        assertThat(iterated).containsExactlyElementsOf(ids);
+        assertThat(itemRepository.iterate(ids.get(248)).next().getId()).isEqualTo(ids.get(249));
+        assertThat(itemRepository.iterate(ids.get(249)).hasNext()).isFalse();
+    }
+
+    @Test
+    void iterateSnapshot() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add(itemRepository.save(new Item("item" + i, 10000, 10)).getId());
+        }
+        Iterator<Item> iterator = itemRepository.iterate(null);
+        iterator.next();
+
+        //when - 순회 도중 뒤쪽 페이지의 상품을 수정하고, 새 상품을 저장한다.
+        itemRepository.update(ids.get(200), new Item("updated", 20000, 20));
+        itemRepository.save(new Item("new", 10000, 10));
+
+        //then - 순회를 시작한 시점의 상태만 보인다.
+        List<Item> rest = new ArrayList<>();
+        iterator.forEachRemaining(rest::add);
+        assertThat(rest).hasSize(249);
+        assertThat(rest.get(199).getItemName()).isEqualTo("item200");
+    }
+
+    @Test
+    void search() {
+        //given
+        Item cheap = itemRepository.save(new Item("cheap", 5000, 100));
+        Item middle = itemRepository.save(new Item("middle", 30000, 5));
+        Item expensive = itemRepository.save(new Item("expensive", 90000, 8));
+
+        //when
+        List<Item> priceRange = itemRepository.search(new ItemSearchCond(10000, 50000, null, null), 10);
+        List<Item> lowStock = itemRepository.search(new ItemSearchCond(null, null, null, 9), 10);
+
+        //then
+        assertThat(priceRange).containsExactly(middle);
+        assertThat(lowStock).containsExactly(middle, expensive);
+
+        //수정하면 인덱스도 함께 바뀐다.
+        itemRepository.update(cheap.getId(), new Item("cheap", 20000, 1));
+        assertThat(itemRepository.search(new ItemSearchCond(10000, 50000, null, 9), 10))
+                .containsExactly(itemRepository.findById(cheap.getId()), middle);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        int threads = 8;
+        int itemsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<List<Item>>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                start.await();
+                List<Item> saved = new ArrayList<>(itemsPerThread);
+                for (int i = 0; i < itemsPerThread; i++) {
+                    saved.add(itemRepository.save(new Item("item", 10000, 10)));
+                }
+                return saved;
+            });
+        }
+
+        //when
+        List<Future<List<Item>>> futures = new ArrayList<>();
+        for (Callable<List<Item>> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Item>> future : futures) {
+            for (Item item : future.get(30, TimeUnit.SECONDS)) {
+                ids.add(item.getId());
+            }
+        }
+        executor.shutdown();
+
+        //then : ID 중복 발급 없음, 저장 유실 없음
+        assertThat(ids).hasSize(threads * itemsPerThread);
+        assertThat(itemRepository.findAll()).hasSize(threads * itemsPerThread);
+        for (Long id : ids) {
+            assertThat(itemRepository.findById(id)).isNotNull();
+        }
+    }
+
+    @Test
+    void concurrentUpdate() throws Exception {
+        //given
+        int threads = 8;
+        int updatesPerThread = 2_000;
+        List<Long> itemIds = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            itemIds.add(itemRepository.save(new Item("item" + t, 10000, 0)).getId());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        //when : 각 쓰레드는 모든 상품을 번갈아 가며 수정한다.
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int threadNo = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 1; i <= updatesPerThread; i++) {
+                    Long itemId = itemIds.get((threadNo + i) % threads);
+                    itemRepository.update(itemId, new Item("item-" + threadNo, 10000 + i, i));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then : 모든 상품이 어느 한 쓰레드가 수정한 값으로 온전하게 남아있다.
+        assertThat(itemRepository.findAll()).hasSize(threads);
+        for (Long itemId : itemIds) {
+            Item findItem = itemRepository.findById(itemId);
+            assertThat(findItem.getItemName()).startsWith("item-");
+            assertThat(findItem.getPrice()).isEqualTo(10000 + findItem.getQuantity());
+        }
+    }
 }
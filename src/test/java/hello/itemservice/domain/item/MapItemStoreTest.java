@@ -0,0 +1,82 @@
+package hello.itemservice.domain.item;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MapItemStoreTest {
+
+    MapItemStore store = new MapItemStore();
+    ItemRepository itemRepository = new ItemRepository(store, ItemJournal.NONE);
+
+    @Test
+    void updateInstallsNewVersion() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        Item before = itemRepository.findById(item.getId());
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+
+        //then : 먼저 조회한 상품은 바뀌지 않는다.
+        assertThat(before.getItemName()).isEqualTo("itemA");
+        assertThat(before.getVersion()).isEqualTo(1L);
+        assertThat(itemRepository.findById(item.getId()).getItemName()).isEqualTo("itemB");
+    }
+
+    @Test
+    void failedUpdateInstallsNothing() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        Item before = itemRepository.findById(item.getId());
+
+        //when
+        assertThatThrownBy(() -> store.update(item.getId(), working -> {
+            working.setItemName("itemB");
+            throw new IllegalStateException();
+        })).isInstanceOf(IllegalStateException.class);
+
+        //then
+        assertThat(itemRepository.findById(item.getId())).isSameAs(before);
+    }
+
+    @Test
+    void snapshot() {
+        //given
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+        ItemView snapshot = store.snapshot();
+
+        //when
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        itemRepository.save(new Item("itemC", 30000, 30));
+
+        //then : 스냅샷은 잡은 시점의 상태만 본다.
+        List<Item> items = new ArrayList<>();
+        snapshot.forEach(items::add);
+        assertThat(items).extracting("itemName").containsExactly("itemA");
+        assertThat(itemRepository.findAll()).extracting("itemName").containsExactly("itemB", "itemC");
+    }
+
+    @Test
+    void findAfterAcrossLevels() {
+        //given : 트라이가 여러 단계로 자라도록 떨어진 ID 로 저장한다.
+        long[] ids = {1L, 31L, 32L, 1_000L, 1L << 20, 1L << 40, Long.MAX_VALUE};
+        for (long id : ids) {
+            Item item = new Item("item" + id, 10000, 10);
+            item.setId(id);
+            store.put(item);
+        }
+
+        //then
+        assertThat(store.findAfter(null, 100)).extracting("id")
+                .containsExactly(1L, 31L, 32L, 1_000L, 1L << 20, 1L << 40, Long.MAX_VALUE);
+        assertThat(store.findAfter(31L, 2)).extracting("id").containsExactly(32L, 1_000L);
+        assertThat(store.findAfter(1L << 20, 100)).extracting("id").containsExactly(1L << 40, Long.MAX_VALUE);
+        assertThat(store.findAfter(Long.MAX_VALUE, 100)).isEmpty();
+        assertThat(store.get(1L << 40).getItemName()).isEqualTo("item" + (1L << 40));
+        assertThat(store.get(33L)).isNull();
+    }
+}
@@ -0,0 +1,153 @@
+package hello.itemservice.domain.item.log;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.MapItemStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recover() throws IOException {
+        //given
+        ItemLog itemLog = openLog(FsyncPolicy.ALWAYS, 1024 * 1024);
+        ItemRepository itemRepository = new ItemRepository(itemLog);
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        Item itemB = itemRepository.save(new Item("상품B", 20000, null));
+        itemRepository.update(itemA.getId(), new Item("itemA2", 30000, 30));
+        Item updatedA = itemRepository.findById(itemA.getId());
+        itemLog.close();
+
+        //when
+        ItemRepository recovered = recover(FsyncPolicy.ALWAYS, 1024 * 1024);
+
+        //then
+        assertThat(recovered.findAll()).hasSize(2);
+        assertThat(recovered.findById(itemA.getId())).isEqualTo(updatedA);
+        assertThat(recovered.findById(itemB.getId())).isEqualTo(itemB);
+        assertThat(recovered.save(new Item("itemC", 10000, 1)).getId()).isEqualTo(itemB.getId() + 1);
+    }
+
+    @Test
+    void recoverSkipsTornTail() throws IOException {
+        //given
+        ItemLog itemLog = openLog(FsyncPolicy.NONE, 1024 * 1024);
+        ItemRepository itemRepository = new ItemRepository(itemLog);
+        Item itemA = itemRepository.save(new Item("itemA", 10000, 10));
+        itemLog.close();
+
+        //마지막 레코드를 쓰다가 중단된 상황
+        Path lastSegment = segments().get(segments().size() - 1);
+        try (FileChannel channel = FileChannel.open(lastSegment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        //when
+        ItemRepository recovered = recover(FsyncPolicy.NONE, 1024 * 1024);
+
+        //then
+        assertThat(recovered.findAll()).containsExactly(itemA);
+    }
+
+    @Test
+    void compact() throws IOException {
+        //given : 작은 세그먼트로 여러 세그먼트를 만든다.
+        ItemLog itemLog = openLog(FsyncPolicy.INTERVAL, 512);
+        ItemRepository itemRepository = new ItemRepository(itemLog);
+        Item item = itemRepository.save(new Item("item", 10000, 0));
+        for (int i = 1; i <= 100; i++) {
+            itemRepository.update(item.getId(), new Item("item", 10000, i));
+        }
+        assertThat(segments().size()).isGreaterThan(2);
+
+        //when
+        itemLog.compact(itemRepository::forEach);
+        itemLog.close();
+
+        //then
+        assertThat(segments()).hasSize(2);
+        ItemRepository recovered = recover(FsyncPolicy.INTERVAL, 512);
+        assertThat(recovered.findById(item.getId()).getQuantity()).isEqualTo(100);
+        assertThat(recovered.findById(item.getId()).getVersion()).isEqualTo(101L);
+    }
+
+    @Test
+    void compactDuringUpdate() throws IOException {
+        //given : 수정을 로그에 기록하는 바로 그 시점에 압축이 세그먼트를 봉인하도록 끼워 넣는다.
+        ItemLog itemLog = openLog(FsyncPolicy.INTERVAL, 1024 * 1024);
+        ItemRepository[] holder = new ItemRepository[1];
+        AtomicBoolean compactOnAppend = new AtomicBoolean();
+        ItemJournal journal = new ItemJournal() {
+            @Override
+            public long append(Item item) {
+                long ticket = itemLog.append(item);
+                if (compactOnAppend.compareAndSet(true, false)) {
+                    try {
+                        itemLog.compact(holder[0]::forEach);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return ticket;
+            }
+
+            @Override
+            public void sync(long ticket) {
+                itemLog.sync(ticket);
+            }
+        };
+        ItemRepository itemRepository = new ItemRepository(new MapItemStore(), journal);
+        holder[0] = itemRepository;
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when
+        compactOnAppend.set(true);
+        itemRepository.update(item.getId(), new Item("itemB", 20000, 20));
+        itemLog.close();
+
+        //then : 압축한 세그먼트에 수정된 상태가 들어있어야 재시작 후에도 남는다.
+        ItemRepository recovered = recover(FsyncPolicy.INTERVAL, 1024 * 1024);
+        assertThat(recovered.findById(item.getId()).getItemName()).isEqualTo("itemB");
+        assertThat(recovered.findById(item.getId()).getVersion()).isEqualTo(2L);
+    }
+
+    private ItemLog openLog(FsyncPolicy fsyncPolicy, long segmentSize) throws IOException {
+        ItemLog itemLog = new ItemLog(directory, fsyncPolicy, segmentSize, Duration.ofMillis(10));
+        itemLog.recover(item -> {
+        });
+        return itemLog;
+    }
+
+    private ItemRepository recover(FsyncPolicy fsyncPolicy, long segmentSize) throws IOException {
+        ItemLog itemLog = new ItemLog(directory, fsyncPolicy, segmentSize, Duration.ofMillis(10));
+        ItemRepository itemRepository = new ItemRepository(itemLog);
+        itemLog.recover(itemRepository::restore);
+        return itemRepository;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package hello.itemservice.domain.item.snapshot;
+
+import hello.itemservice.domain.item.ColumnarItemStore;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemJournal;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSearchCond;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeAndLoad() throws IOException {
+        //given : 섹션(64K 개) 경계를 넘도록 저장한다.
+        ItemRepository itemRepository = new ItemRepository();
+        for (int i = 0; i < 70_000; i++) {
+            itemRepository.save(new Item("item" + i, 1000 + i, i % 10));
+        }
+        Item nullFields = itemRepository.save(new Item(null, null, null));
+        itemRepository.update(1L, new Item("상품A", 50000, 5));
+        ItemSnapshotFile snapshotFile = new ItemSnapshotFile(directory.resolve("items.snapshot"));
+
+        //when
+        long written = snapshotFile.write(itemRepository);
+        ItemRepository loaded = new ItemRepository();
+        long read = snapshotFile.load(loaded);
+
+        //then
+        assertThat(written).isEqualTo(70_001);
+        assertThat(read).isEqualTo(70_001);
+        assertThat(loaded.findAll()).isEqualTo(itemRepository.findAll());
+        assertThat(loaded.findById(1L).getVersion()).isEqualTo(2L);
+        assertThat(loaded.findById(nullFields.getId())).isEqualTo(nullFields);
+        //보조 인덱스와 ID 시퀀스도 복원된다.
+        assertThat(loaded.search(new ItemSearchCond(50000, 50000, null, null), 10)).extracting("itemName")
+                .containsExactly("상품A");
+        assertThat(loaded.save(new Item("next", 10000, 1)).getId()).isEqualTo(nullFields.getId() + 1);
+    }
+
+    @Test
+    void loadIntoColumnarStore() throws IOException {
+        //given
+        ItemRepository itemRepository = new ItemRepository();
+        itemRepository.save(new Item("itemA", 10000, 10));
+        itemRepository.save(new Item("itemB", 20000, 20));
+        ItemSnapshotFile snapshotFile = new ItemSnapshotFile(directory.resolve("items.snapshot"));
+        snapshotFile.write(itemRepository);
+
+        //when
+        ItemRepository loaded = new ItemRepository(new ColumnarItemStore(), ItemJournal.NONE);
+        snapshotFile.load(loaded);
+
+        //then
+        assertThat(loaded.findAll()).isEqualTo(itemRepository.findAll());
+    }
+
+    @Test
+    void missingFile() throws IOException {
+        ItemRepository itemRepository = new ItemRepository();
+        assertThat(new ItemSnapshotFile(directory.resolve("none.snapshot")).load(itemRepository)).isZero();
+        assertThat(itemRepository.isEmpty()).isTrue();
+    }
+
+    @Test
+    void corruptedSection() throws IOException {
+        //given
+        Path file = directory.resolve("items.snapshot");
+        ItemRepository itemRepository = new ItemRepository();
+        itemRepository.save(new Item("itemA", 10000, 10));
+        new ItemSnapshotFile(file).write(itemRepository);
+
+        //when : 첫 번째 상품의 가격 바이트를 바꾼다. (헤더 8 + id 8 + flags 1)
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), 8 + 8 + 1);
+        }
+
+        //then
+        assertThatThrownBy(() -> new ItemSnapshotFile(file).load(new ItemRepository()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void truncatedFile() throws IOException {
+        //given : 트레일러를 쓰기 전에 끊긴 파일
+        Path file = directory.resolve("items.snapshot");
+        ItemRepository itemRepository = new ItemRepository();
+        itemRepository.save(new Item("itemA", 10000, 10));
+        new ItemSnapshotFile(file).write(itemRepository);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 4);
+        }
+
+        //then
+        assertThatThrownBy(() -> new ItemSnapshotFile(file).load(new ItemRepository()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void closeWritesAttachedRepository() throws IOException {
+        //given
+        Path file = directory.resolve("items.snapshot");
+        ItemRepository itemRepository = new ItemRepository();
+        ItemSnapshotFile snapshotFile = new ItemSnapshotFile(file);
+        snapshotFile.attach(itemRepository, Duration.ZERO);
+        itemRepository.save(new Item("itemA", 10000, 10));
+
+        //when : 애플리케이션 종료
+        snapshotFile.close();
+
+        //then
+        ItemRepository loaded = new ItemRepository();
+        new ItemSnapshotFile(file).load(loaded);
+        assertThat(loaded.findAll()).extracting("itemName").containsExactly("itemA");
+    }
+}
@@ -0,0 +1,94 @@
+package hello.itemservice.message;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+*  ResourceBundleMessageSource(스프링 부트 기본)와 같은 메시지를 반환하는지 비교한다.
+* */
+class PrecompiledMessageSourceTest {
+
+    static final List<String> CODES = List.of("hello", "hello.name", "label.item.price", "page.next",
+            "range.item.price", "max.item.quantity", "totalPriceMin.item", "Range", "typeMismatch", "no_code");
+    static final List<Locale> LOCALES = List.of(Locale.KOREA, Locale.KOREAN, Locale.ENGLISH, Locale.US,
+            Locale.FRANCE, Locale.ROOT);
+    static final List<Object[]> ARGS = List.of(new Object[0], new Object[]{1000, 1000000},
+            new Object[]{"Spring", 10000L, 1.5}, new Object[]{
+                    new DefaultMessageSourceResolvable(new String[]{"label.item.price"}, "price"), 1000000L, 1000L});
+
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource(List.of("messages", "errors"),
+            UTF_8, true, false, false);
+
+    @AfterEach
+    void tearDown() {
+        messageSource.close();
+    }
+
+    @Test
+    void sameAsResourceBundleMessageSource() {
+        ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+        expected.setBasenames("messages", "errors");
+        expected.setDefaultEncoding("UTF-8");
+
+        for (Locale locale : LOCALES) {
+            for (String code : CODES) {
+                for (Object[] args : ARGS) {
+                    assertThat(messageSource.getMessage(code, args, "기본 {0}", locale))
+                            .as("code=%s, locale=%s", code, locale)
+                            .isEqualTo(expected.getMessage(code, args, "기본 {0}", locale));
+                }
+            }
+        }
+    }
+
+    @Test
+    void resolvable() {
+        DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(
+                new String[]{"Range.item.price", "Range.price", "Range"},
+                new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000L, 1000L},
+                "{2} 에서 {1} 사이");
+
+        assertThat(messageSource.getMessage(resolvable, Locale.KOREA)).isEqualTo("price, 1,000 ~ 1,000,000 허용");
+
+        DefaultMessageSourceResolvable notFound = new DefaultMessageSourceResolvable(
+                new String[]{"no_code"}, new Object[]{1000}, "{0} 이상");
+        assertThat(messageSource.getMessage(notFound, Locale.KOREA)).isEqualTo("1,000 이상");
+    }
+
+    @Test
+    void notFound() {
+        assertThatThrownBy(() -> messageSource.getMessage("no_code", null, Locale.KOREA))
+                .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    void unknownLocalesShareCachedMessages() {
+        ResourceBundleMessageSource expected = new ResourceBundleMessageSource();
+        expected.setBasenames("messages", "errors");
+        expected.setDefaultEncoding("UTF-8");
+
+        //Accept-Language 로 처음 보는 로케일이 계속 들어와도 메시지 Map 은 한도 근처에서 멈춘다.
+        for (int i = 0; i < PrecompiledMessageSource.LOCALE_CACHE_LIMIT * 4; i++) {
+            Locale locale = i % 2 == 0 ? new Locale("en", "X" + i) : new Locale("x" + i);
+            assertThat(messageSource.getMessage("hello.name", new Object[]{"Spring"}, locale))
+                    .as("locale=%s", locale)
+                    .isEqualTo(expected.getMessage("hello.name", new Object[]{"Spring"}, locale));
+        }
+        assertThat(messageSource.cachedLocaleCount()).isLessThanOrEqualTo(PrecompiledMessageSource.LOCALE_CACHE_LIMIT + 3);
+    }
+
+    @Test
+    void notModified() {
+        assertThat(messageSource.reloadIfModified()).isFalse();
+    }
+}
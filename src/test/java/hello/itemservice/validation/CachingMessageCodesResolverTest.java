@@ -0,0 +1,76 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingMessageCodesResolverTest {
+
+    StaticMessageSource messageSource = new StaticMessageSource();
+    CachingMessageCodesResolver codesResolver = new CachingMessageCodesResolver(messageSource);
+
+    @AfterEach
+    void tearDown() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    void firstExistingCode() {
+        messageSource.addMessage("required.java.lang.String", Locale.KOREA, "필수 문자입니다.");
+        messageSource.addMessage("required.item.itemName", Locale.ENGLISH, "Item name is required.");
+
+        LocaleContextHolder.setLocale(Locale.KOREA);
+        assertThat(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class))
+                .containsExactly("required.java.lang.String", "required");
+
+        LocaleContextHolder.setLocale(Locale.ENGLISH);
+        assertThat(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class))
+                .containsExactly("required.item.itemName", "required");
+    }
+
+    @Test
+    void errorCodeDoesNotDependOnMessages() {
+        messageSource.addMessage("required.item.itemName", Locale.KOREA, "상품 이름은 필수입니다.");
+        messageSource.addMessage("totalPriceMin.item", Locale.KOREA, "가격 * 수량의 합은 {0}원 이상이어야 합니다.");
+        LocaleContextHolder.setLocale(Locale.KOREA);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(new Item(), "item");
+        bindingResult.setMessageCodesResolver(codesResolver);
+        bindingResult.rejectValue("itemName", "required");
+        bindingResult.reject("totalPriceMin");
+
+        //메시지는 첫 번째 코드로 찾고, 오류 코드는 원래 코드 그대로다.
+        FieldError fieldError = bindingResult.getFieldError("itemName");
+        assertThat(fieldError.getCode()).isEqualTo("required");
+        assertThat(fieldError.getCodes()).containsExactly("required.item.itemName", "required");
+        assertThat(bindingResult.getGlobalError().getCode()).isEqualTo("totalPriceMin");
+        assertThat(messageSource.getMessage(fieldError, Locale.KOREA)).isEqualTo("상품 이름은 필수입니다.");
+    }
+
+    @Test
+    void noMessageKeepsAllCodes() {
+        assertThat(codesResolver.resolveMessageCodes("required", "item", "itemName", String.class))
+                .containsExactly("required.item.itemName", "required.itemName", "required.java.lang.String", "required");
+        assertThat(codesResolver.resolveMessageCodes("totalPriceMin", "item"))
+                .containsExactly("totalPriceMin.item", "totalPriceMin");
+    }
+
+    @Test
+    void clear() {
+        assertThat(codesResolver.resolveMessageCodes("totalPriceMin", "item")).hasSize(2);
+
+        messageSource.addMessage("totalPriceMin", Locale.getDefault(), "전체 가격은 {0}원 이상이어야 합니다.");
+        codesResolver.clear();
+
+        assertThat(codesResolver.resolveMessageCodes("totalPriceMin", "item")).containsExactly("totalPriceMin");
+    }
+}
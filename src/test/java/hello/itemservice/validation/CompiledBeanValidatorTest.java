@@ -0,0 +1,171 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+*  컴파일한 검증기와 Hibernate Validator(스프링 기본 경로)가 같은 BindingResult 를 만드는지 비교한다.
+* */
+class CompiledBeanValidatorTest {
+
+    LocalValidatorFactoryBean validatorFactory = new LocalValidatorFactoryBean();
+    SmartValidator stock;
+    SmartValidator compiled;
+
+    CompiledBeanValidatorTest() {
+        validatorFactory.afterPropertiesSet();
+        stock = new CrossFieldValidatorAdapter(validatorFactory);
+        compiled = new CompiledBeanValidator(validatorFactory, stock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.destroy();
+    }
+
+    @Test
+    void saveForm() {
+        assertSameErrors(saveForm(" ", 0, 10000));
+        assertSameErrors(saveForm(null, null, null));
+        assertSameErrors(saveForm("itemA", 2000000, 9999));
+        assertSameErrors(saveForm("itemA", 10000, 10));
+        assertSameErrors(saveForm("itemA", 1000, 1));
+    }
+
+    @Test
+    void totalPriceMin() {
+        for (SmartValidator validator : List.of(stock, compiled)) {
+            BindingResult bindingResult = new BeanPropertyBindingResult(saveForm("itemA", 1000, 9), "item");
+            validator.validate(bindingResult.getTarget(), bindingResult);
+
+            assertThat(bindingResult.getFieldErrorCount()).isZero();
+            ObjectError error = bindingResult.getGlobalError();
+            assertThat(error.getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+            assertThat(error.getArguments()).containsExactly(10000L, 9000L);
+            assertThat(error.getDefaultMessage()).isEqualTo("가격 * 수량의 합은 10000원 이상이어야 합니다. 현재 값 = 9000");
+        }
+    }
+
+    @Test
+    void totalPriceMinSkippedWhenOperandFailed() {
+        //가격이 범위를 벗어나면 가격 오류만 보고한다.
+        ItemSaveForm form = saveForm("itemA", 100, 1);
+        assertSameErrors(form);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        compiled.validate(form, bindingResult);
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("Range");
+        assertThat(bindingResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void totalPriceMinOverflow() {
+        //int 로 곱하면 음수가 되는 값 (1,000,000 * 100,000)
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setId(1L);
+        form.setItemName("itemA");
+        form.setPrice(1000000);
+        form.setQuantity(100000);
+        form.setVersion(1L);
+
+        for (SmartValidator validator : List.of(stock, compiled)) {
+            BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+            validator.validate(form, bindingResult);
+            assertThat(bindingResult.hasErrors()).isFalse();
+        }
+    }
+
+    @Test
+    void failFast() {
+        SmartValidator failFast = new CompiledBeanValidator(validatorFactory, stock, true);
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm(" ", 0, 10000), "item");
+        failFast.validate(bindingResult.getTarget(), bindingResult);
+
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateForm() {
+        ItemUpdateForm form = new ItemUpdateForm();
+        form.setItemName("");
+        form.setPrice(999);
+        form.setQuantity(100000);
+        assertSameErrors(form);
+    }
+
+    @Test
+    void groups() {
+        Item item = new Item("", 999, 10000);
+        assertSameErrors(item, SaveCheck.class);
+        assertSameErrors(item, UpdateCheck.class);
+        assertSameErrors(item, SaveCheck.class, UpdateCheck.class);
+        assertSameErrors(item);
+        assertSameErrors(new Item("itemA", 1000, 1), SaveCheck.class);
+    }
+
+    @Test
+    void skipBindingFailure() {
+        ItemSaveForm form = saveForm("itemA", null, 10);
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                bindingResult.resolveMessageCodes("typeMismatch", "price"), null, null));
+        compiled.validate(form, bindingResult);
+
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("typeMismatch");
+    }
+
+    @Test
+    void arguments() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(saveForm("itemA", 0, 10), "item");
+        compiled.validate(bindingResult.getTarget(), bindingResult);
+
+        FieldError error = bindingResult.getFieldError("price");
+        assertThat(error.getCodes()).containsExactly("Range.item.price", "Range.price", "Range.java.lang.Integer", "Range");
+        //{0} = 필드명, {1} = max, {2} = min
+        assertThat(error.getArguments()).hasSize(3);
+        assertThat(error.getArguments()[1]).isEqualTo(1000000L);
+        assertThat(error.getArguments()[2]).isEqualTo(1000L);
+    }
+
+    private void assertSameErrors(Object target, Object... groups) {
+        BindingResult expected = new BeanPropertyBindingResult(target, "item");
+        stock.validate(target, expected, groups);
+
+        BindingResult actual = new BeanPropertyBindingResult(target, "item");
+        compiled.validate(target, actual, groups);
+
+        assertThat(describe(actual)).containsExactlyInAnyOrderElementsOf(describe(expected));
+    }
+
+    private static List<String> describe(BindingResult bindingResult) {
+        return bindingResult.getAllErrors().stream()
+                .map(ObjectError::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemSaveForm saveForm(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TotalPriceMinRuleTest {
+
+    TotalPriceMinRule rule = new TotalPriceMinRule(10000, "price", "quantity");
+
+    @Test
+    void check() {
+        assertThat(rule.check(new Object[]{1000, 10})).isNull();
+        assertThat(rule.check(new Object[]{1000, 9})).containsExactly(10000L, 9000L);
+    }
+
+    @Test
+    void intOverflow() {
+        //int 로 곱하면 1, -2 가 되어 최소 금액 미만으로 잘못 판단하는 값
+        assertThat(rule.check(new Object[]{Integer.MAX_VALUE, Integer.MAX_VALUE})).isNull();
+        assertThat(rule.check(new Object[]{Integer.MAX_VALUE, 2})).isNull();
+        assertThat(rule.check(new Object[]{Integer.MIN_VALUE, 2})).containsExactly(10000L, -4294967296L);
+    }
+
+    @Test
+    void longOverflow() {
+        //long 도 넘치면(multiplyExact 예외) BigInteger 로 계산한다.
+        assertThat(rule.check(new Object[]{Long.MAX_VALUE, 2L})).isNull();
+        assertThat(rule.check(new Object[]{Long.MIN_VALUE, 2L}))
+                .containsExactly(10000L, BigInteger.valueOf(Long.MIN_VALUE).multiply(BigInteger.TWO));
+    }
+}
@@ -0,0 +1,130 @@
+package hello.itemservice.web.idempotency;
+
+import hello.itemservice.config.IdempotencyProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    IdempotencyFilter filter = new IdempotencyFilter(new IdempotencyProperties());
+    AtomicInteger calls = new AtomicInteger();
+
+    //상품 저장 후 리다이렉트하는 컨트롤러 흉내
+    FilterChain saveAndRedirect = (request, response) -> {
+        int itemId = calls.incrementAndGet();
+        ((HttpServletResponse) response).sendRedirect("/validation/v4/items/" + itemId);
+    };
+
+    @Test
+    void replayFirstResponse() throws Exception {
+        MockHttpServletResponse first = post("key-1", saveAndRedirect);
+        MockHttpServletResponse second = post("key-1", saveAndRedirect);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(second.getStatus()).isEqualTo(first.getStatus());
+        assertThat(second.getHeader("Location")).isEqualTo("/validation/v4/items/1");
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void differentKeys() throws Exception {
+        post("key-1", saveAndRedirect);
+        post("key-2", saveAndRedirect);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void withoutKey() throws Exception {
+        post(null, saveAndRedirect);
+        post(null, saveAndRedirect);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirst() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowSave = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            calls.incrementAndGet();
+            response.getWriter().write("saved");
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post("key-1", slowSave));
+            entered.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> second = executor.submit(() -> post("key-1", slowSave));
+            Future<MockHttpServletResponse> third = executor.submit(() -> post("key-1", slowSave));
+            release.countDown();
+
+            assertThat(first.get().getContentAsString()).isEqualTo("saved");
+            assertThat(second.get().getContentAsString()).isEqualTo("saved");
+            assertThat(third.get().getContentAsString()).isEqualTo("saved");
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void serverErrorIsNotCached() throws Exception {
+        FilterChain failing = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        post("key-1", failing);
+        post("key-1", failing);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheEvictsByTtlAndSize() {
+        AtomicLong now = new AtomicLong();
+        IdempotencyCache cache = new IdempotencyCache(Duration.ofNanos(100), 2, now::get);
+
+        assertThat(cache.register("a", new CompletableFuture<>())).isNull();
+        assertThat(cache.register("b", new CompletableFuture<>())).isNull();
+        assertThat(cache.register("a", new CompletableFuture<>())).isNotNull();
+
+        //크기 제한 - 가장 오래된 a 를 버린다.
+        assertThat(cache.register("c", new CompletableFuture<>())).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.register("a", new CompletableFuture<>())).isNull();
+
+        //TTL 만료
+        now.addAndGet(100);
+        assertThat(cache.register("c", new CompletableFuture<>())).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse post(String key, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/v4/items/add");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
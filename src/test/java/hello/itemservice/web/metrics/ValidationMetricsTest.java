@@ -0,0 +1,56 @@
+package hello.itemservice.web.metrics;
+
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidationMetricsTest {
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+
+    @Test
+    void record() {
+        PhaseRecorder recorder = new PhaseRecorder("ValidationItemControllerV4.addItem");
+        recorder.add(ValidationPhase.BINDING, TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.add(ValidationPhase.VALIDATION, TimeUnit.MILLISECONDS.toNanos(2));
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(new ItemSaveForm(), "item");
+        bindingResult.rejectValue("itemName", "NotBlank");
+        bindingResult.reject("totalPriceMin");
+        recorder.addBindingResult(bindingResult);
+
+        validationMetrics.record(recorder);
+
+        //바인딩 시간에서 그 안의 검증 시간을 뺀다.
+        assertThat(registry.get("validation.phase").tag("phase", "binding").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(3.0);
+        assertThat(registry.get("validation.phase").tag("phase", "validation").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(2.0);
+        assertThat(registry.get("validation.rejections").tags("code", "NotBlank", "field", "itemName").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("validation.rejections").tags("code", "totalPriceMin", "field", "global").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void recordRejectionsWithoutBindingResult() {
+        //V1 은 Map 에 오류를 모으므로 BindingResult 대신 ValidationPhases.reject 로 기록한다.
+        PhaseRecorder recorder = new PhaseRecorder("ValidationItemControllerV1.addItem");
+        recorder.addRejection("required", "itemName");
+        recorder.addRejection("totalPriceMin", ValidationMetrics.GLOBAL_FIELD);
+
+        validationMetrics.record(recorder);
+
+        assertThat(registry.get("validation.rejections").tags("endpoint", "ValidationItemControllerV1.addItem",
+                "code", "required", "field", "itemName").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("validation.rejections").tags("code", "totalPriceMin", "field", "global").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,59 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemConditionalRequestsTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+
+    @Test
+    void itemNotModified() {
+        Item item = itemRepository.save(new Item("itemA", 10000, 10));
+
+        //처음 요청 -> ETag 를 받는다.
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(ItemConditionalRequests.isNotModified(request(null, first), itemRepository, item)).isFalse();
+        String etag = first.getHeader("ETag");
+        assertThat(etag).startsWith("W/\"");
+
+        //같은 ETag 로 다시 요청 -> 304
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(ItemConditionalRequests.isNotModified(request(etag, second), itemRepository, item)).isTrue();
+        assertThat(second.getStatus()).isEqualTo(304);
+
+        //수정 후 -> 새 ETag
+        itemRepository.update(item.getId(), new Item("itemB", 10000, 10));
+        Item updated = itemRepository.findById(item.getId());
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertThat(ItemConditionalRequests.isNotModified(request(etag, third), itemRepository, updated)).isFalse();
+        assertThat(third.getHeader("ETag")).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listNotModified() {
+        itemRepository.save(new Item("itemA", 10000, 10));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        ItemConditionalRequests.isListNotModified(request(null, first), itemRepository);
+        String etag = first.getHeader("ETag");
+
+        assertThat(ItemConditionalRequests.isListNotModified(request(etag, new MockHttpServletResponse()), itemRepository)).isTrue();
+
+        itemRepository.save(new Item("itemB", 10000, 10));
+        assertThat(ItemConditionalRequests.isListNotModified(request(etag, new MockHttpServletResponse()), itemRepository)).isFalse();
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/validation/v4/items");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
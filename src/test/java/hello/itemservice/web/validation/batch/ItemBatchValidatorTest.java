@@ -0,0 +1,41 @@
+package hello.itemservice.web.validation.batch;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemBatchValidatorTest {
+
+    ItemBatchValidator batchValidator = new ItemBatchValidator(new ItemValidator(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @AfterEach
+    void tearDown() {
+        batchValidator.destroy();
+    }
+
+    @Test
+    void validate() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= 10000; id++) {
+            //100 개 중 하나는 수량이 최대값을 넘는다.
+            Item item = new Item("item" + id, 10000, id % 100 == 0 ? 10000 : 10);
+            item.setId(id);
+            items.add(item);
+        }
+
+        BatchValidationReport report = batchValidator.validate(items);
+
+        assertThat(report.getTotal()).isEqualTo(10000);
+        assertThat(report.getInvalid()).isEqualTo(100);
+        assertThat(report.getInvalidIds()).startsWith(100L, 200L, 300L).endsWith(10000L);
+        assertThat(report.getViolations().get(0).getErrors()).containsExactly("max.quantity", "Max.quantity");
+    }
+}
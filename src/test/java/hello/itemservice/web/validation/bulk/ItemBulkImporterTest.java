@@ -0,0 +1,147 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import hello.itemservice.config.ItemBulkProperties;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemBulkImporterTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemApiCodecs codecs = new ItemApiCodecs(new ObjectMapper(), new CBORMapper(), new SmileMapper());
+    ItemBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        ItemBulkProperties properties = new ItemBulkProperties();
+        properties.setChunkSize(2);
+        properties.setMaxInFlightChunks(2);
+        properties.setThreads(2);
+        importer = new ItemBulkImporter(codecs,
+                Validation.buildDefaultValidatorFactory().getValidator(), itemRepository, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importer.destroy();
+    }
+
+    @Test
+    void importJsonArray() throws IOException {
+        String body = "[" +
+                "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}," +
+                "{\"itemName\":\" \",\"price\":10000,\"quantity\":10}," +
+                "{\"itemName\":\"itemC\",\"price\":1000,\"quantity\":1}," +
+                "{\"itemName\":\"itemD\",\"price\":\"abc\",\"quantity\":10}," +
+                "{\"itemName\":\"itemE\",\"price\":20000,\"quantity\":5}" +
+                "]";
+
+        BulkImportResult result = importer.importItems(stream(body));
+
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getError()).isNull();
+
+        //검증에 실패한 상품만 요청 순서대로 남는다.
+        List<BulkItemResult> rejected = result.getRejectedItems();
+        assertThat(rejected).extracting(BulkItemResult::getIndex).containsExactly(1, 2, 3);
+        assertThat(rejected.get(0).getErrors()).containsExactly("NotBlank.itemName");
+        assertThat(rejected.get(1).getErrors()).containsExactly("totalPriceMin");
+        assertThat(rejected.get(2).getErrors()).containsExactly("typeMismatch");
+
+        assertThat(itemRepository.findAll()).extracting(Item::getItemName).containsExactlyInAnyOrder("itemA", "itemE");
+    }
+
+    @Test
+    void importNdjson() throws IOException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 101; i++) {
+            body.append("{\"itemName\":\"item").append(i).append("\",\"price\":10000,\"quantity\":1}\n");
+        }
+
+        BulkImportResult result = importer.importItems(stream(body.toString()));
+
+        assertThat(result.getSaved()).isEqualTo(101);
+        assertThat(result.getRejectedItems()).isEmpty();
+        assertThat(itemRepository.findAll()).hasSize(101);
+    }
+
+    @Test
+    void malformedBodyKeepsPreviousResults() throws IOException {
+        String body = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":1}\n{\"itemName\": ";
+
+        BulkImportResult result = importer.importItems(stream(body));
+
+        assertThat(result.getSaved()).isEqualTo(1);
+        assertThat(result.getError()).isNotNull();
+    }
+
+    @Test
+    void importCbor() throws IOException {
+        //배열
+        byte[] array = codecs.getCbor().writeValueAsBytes(List.of(form("itemA", 10000, 10), form(" ", 10000, 10)));
+        BulkImportResult result = importer.importItems(new ByteArrayInputStream(array), MediaType.APPLICATION_CBOR);
+
+        assertThat(result.getSaved()).isEqualTo(1);
+        assertThat(result.getRejectedItems()).extracting(BulkItemResult::getIndex).containsExactly(1);
+        assertThat(result.getRejectedItems().get(0).getErrors()).containsExactly("NotBlank.itemName");
+
+        //최상위 값을 이어쓴 스트림
+        byte[] sequence = sequence(codecs.getCbor(), form("itemB", 10000, 10), form("itemC", 1000, 1));
+        result = importer.importItems(new ByteArrayInputStream(sequence), MediaType.APPLICATION_CBOR);
+
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(result.getRejectedItems().get(0).getErrors()).containsExactly("totalPriceMin");
+    }
+
+    @Test
+    void importSmile() throws IOException {
+        byte[] sequence = sequence(codecs.getSmile(), form("itemA", 10000, 10), form("itemB", 20000, 5));
+
+        BulkImportResult result = importer.importItems(new ByteArrayInputStream(sequence), ItemApiCodecs.APPLICATION_SMILE);
+
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(itemRepository.findAll()).extracting("itemName").containsExactly("itemA", "itemB");
+    }
+
+    private static ItemSaveForm form(String itemName, int price, int quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+
+    private static byte[] sequence(ObjectMapper mapper, ItemSaveForm... forms) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            for (ItemSaveForm form : forms) {
+                mapper.writeValue(generator, form);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(UTF_8));
+    }
+}
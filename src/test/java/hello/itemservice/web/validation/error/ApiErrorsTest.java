@@ -0,0 +1,72 @@
+package hello.itemservice.web.validation.error;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.config.ValidationProperties;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiErrorsTest {
+
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource(List.of("messages", "errors"), UTF_8, false, false, false);
+    ValidationProperties properties = new ValidationProperties();
+    ApiErrors apiErrors = new ApiErrors(messageSource, properties);
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        messageSource.close();
+    }
+
+    @Test
+    void message() throws Exception {
+        List<ApiError> errors = apiErrors.of(bindingResult(), Locale.KOREAN, (String) null);
+
+        assertThat(objectMapper.writeValueAsString(errors)).isEqualTo("[" +
+                "{\"field\":\"price\",\"code\":\"range\",\"message\":\"가격은 1,000 ~ 1,000,000 까지 허용합니다.\"}," +
+                "{\"code\":\"totalPriceMin\",\"message\":\"상품의 가격 * 수량의 합은 10,000원 이상이어야 합니다. 현재 값 = 0\"}]");
+    }
+
+    @Test
+    void verbosity() throws Exception {
+        assertThat(objectMapper.writeValueAsString(apiErrors.of(bindingResult(), Locale.KOREAN, "code")))
+                .isEqualTo("[{\"field\":\"price\",\"code\":\"range\"},{\"code\":\"totalPriceMin\"}]");
+        assertThat(objectMapper.writeValueAsString(apiErrors.of(bindingResult(), Locale.KOREAN, "DETAIL")))
+                .contains("\"rejectedValue\":0}");
+
+        //모르는 값이면 기본값(validation.errors.verbosity)
+        properties.getErrors().setVerbosity(ApiErrorVerbosity.CODE);
+        ApiErrors codeOnly = new ApiErrors(messageSource, properties);
+        assertThat(codeOnly.of(bindingResult(), Locale.KOREAN, "unknown")).extracting("message").containsOnlyNulls();
+    }
+
+    @Test
+    void smallerThanBindingErrors() throws Exception {
+        BindingResult bindingResult = bindingResult();
+
+        byte[] full = objectMapper.writeValueAsBytes(bindingResult.getAllErrors());
+        byte[] compact = objectMapper.writeValueAsBytes(apiErrors.of(bindingResult, Locale.KOREAN, ApiErrorVerbosity.MESSAGE));
+
+        assertThat(compact.length * 3).isLessThan(full.length);
+    }
+
+    private static BindingResult bindingResult() {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName("itemA");
+        form.setPrice(0);
+        form.setQuantity(10);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(form, "item");
+        bindingResult.rejectValue("price", "range", new Object[]{1000, 1000000}, null);
+        bindingResult.reject("totalPriceMin", new Object[]{10000, 0}, null);
+        return bindingResult;
+    }
+}
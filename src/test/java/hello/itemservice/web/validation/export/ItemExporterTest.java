@@ -0,0 +1,102 @@
+package hello.itemservice.web.validation.export;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.codec.ItemApiCodecs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemExporterTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    ItemApiCodecs codecs = new ItemApiCodecs(new ObjectMapper(), new CBORMapper(), new SmileMapper());
+    ItemExporter itemExporter = new ItemExporter(itemRepository, codecs);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 250; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+    }
+
+    @Test
+    void exportNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        itemExporter.export(ItemExportFormat.NDJSON, null, false, out);
+
+        String[] lines = out.toString(UTF_8).split("\n");
+        assertThat(lines).hasSize(250);
+        assertThat(lines[0]).isEqualTo("{\"id\":1,\"itemName\":\"item1\",\"price\":10000,\"quantity\":10,\"version\":1}");
+        assertThat(lines[249]).isEqualTo("{\"id\":250,\"itemName\":\"item250\",\"price\":10000,\"quantity\":10,\"version\":1}");
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{\"id\":").endsWith("}"));
+    }
+
+    @Test
+    void exportCsvFromId() throws IOException {
+        itemRepository.save(new Item("a,\"b\"", null, 1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        itemExporter.export(ItemExportFormat.CSV, 250L, false, out);
+
+        assertThat(out.toString(UTF_8)).isEqualTo("id,itemName,price,quantity\r\n"
+                + "250,item250,10000,10\r\n"
+                + "251,\"a,\"\"b\"\"\",,1\r\n");
+    }
+
+    @Test
+    void exportGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        itemExporter.export(ItemExportFormat.NDJSON, 201L, true, out);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String[] lines = new String(in.readAllBytes(), UTF_8).split("\n");
+            assertThat(lines).hasSize(50);
+            assertThat(lines[0]).startsWith("{\"id\":201,");
+            assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{\"id\":").endsWith("}"));
+        }
+    }
+
+    @Test
+    void exportBinary() throws IOException {
+        for (ItemExportFormat format : new ItemExportFormat[]{ItemExportFormat.CBOR, ItemExportFormat.SMILE}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            itemExporter.export(format, 201L, false, out);
+
+            //상품 값을 이어쓴 스트림 -> 최상위 값을 하나씩 읽는다.
+            ObjectMapper mapper = format == ItemExportFormat.CBOR ? codecs.getCbor() : codecs.getSmile();
+            try (MappingIterator<Item> items = mapper.readerFor(Item.class).readValues(out.toByteArray())) {
+                List<Item> read = items.readAll();
+                assertThat(read).hasSize(50);
+                assertThat(read.get(0).getId()).isEqualTo(201L);
+                assertThat(read.get(0).getItemName()).isEqualTo("item201");
+            }
+        }
+    }
+
+    @Test
+    void acceptsGzip() {
+        assertThat(ItemExporter.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(ItemExporter.acceptsGzip("deflate, GZIP;q=0.5")).isTrue();
+        assertThat(ItemExporter.acceptsGzip("*")).isTrue();
+
+        assertThat(ItemExporter.acceptsGzip(null)).isFalse();
+        assertThat(ItemExporter.acceptsGzip("identity")).isFalse();
+        assertThat(ItemExporter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ItemExporter.acceptsGzip("gzip; q=0.0, *")).isFalse();
+        assertThat(ItemExporter.acceptsGzip("*;q=0")).isFalse();
+        assertThat(ItemExporter.acceptsGzip("x-gzipped-not")).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package hello.itemservice.web.validation.failfast;
+
+import hello.itemservice.config.ValidationProperties;
+import hello.itemservice.web.validation.ValidationItemApiController;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailFastValidationTest {
+
+    ValidationProperties properties = new ValidationProperties();
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validation/api/items/add");
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void header() {
+        request.addHeader("X-Validation-Fail-Fast", "true");
+
+        BindingResult bindingResult = validate(invalidForm());
+
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        assertThat(FailFastValidation.isApplied()).isTrue();
+    }
+
+    @Test
+    void endpoint() throws NoSuchMethodException {
+        properties.getFailFast().getEndpoints().put("ValidationItemApiController.addItem", true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(
+                new ValidationItemApiController(null, null, null, null),
+                ValidationItemApiController.class.getMethod("addItem", ItemSaveForm.class, BindingResult.class, Locale.class, String.class)));
+
+        BindingResult bindingResult = validate(invalidForm());
+
+        assertThat(bindingResult.getErrorCount()).isEqualTo(1);
+        FailFastError error = FailFastError.of(bindingResult);
+        assertThat(error.getCode()).isEqualTo(bindingResult.getAllErrors().get(0).getCode());
+    }
+
+    @Test
+    void disabled() {
+        BindingResult bindingResult = validate(invalidForm());
+
+        //fail-fast 가 아니면 바인더의 검증기를 바꾸지 않는다.
+        assertThat(bindingResult.hasErrors()).isFalse();
+        assertThat(FailFastValidation.isApplied()).isFalse();
+    }
+
+    private BindingResult validate(ItemSaveForm form) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        FailFastValidation failFastValidation = new FailFastValidation(properties);
+        try {
+            WebDataBinder binder = new WebDataBinder(form, "item");
+            failFastValidation.initBinder(binder, request);
+            binder.validate();
+            return binder.getBindingResult();
+        } finally {
+            failFastValidation.destroy();
+        }
+    }
+
+    private static ItemSaveForm invalidForm() {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(" ");
+        form.setPrice(0);
+        form.setQuantity(100000);
+        return form;
+    }
+}
@@ -0,0 +1,208 @@
+package hello.itemservice.web.validation.reactive;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+*  [MVC vs 논블로킹 상품 API 부하 비교]
+*  ./gradlew loadTest
+*
+*  POST /validation/api/items/add 에 두 종류의 클라이언트를 동시에 붙인다.
+*  - 느린 업로드 : SLOW_CLIENTS 개의 연결이 요청 본문을 한 바이트씩 SLOW_BYTE_INTERVAL_MS 간격으로 보낸다.
+*  - 일반 요청   : FAST_CLIENTS 개의 클라이언트가 MEASURE_SECONDS 동안 요청을 반복하고 지연 시간을 기록한다.
+*
+*  Tomcat 은 요청 본문을 읽는 동안 작업 쓰레드를 붙잡기 때문에 느린 업로드가 쓰레드 풀(threads.max)을 차지하면 일반 요청이 줄을 선다.
+*  Reactor Netty 는 본문이 다 올 때까지 쓰레드를 쓰지 않는다. 서버 쓰레드 수와 일반 요청의 p50, p99 를 출력한다.
+* */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "item.reactive.enabled=true",
+        "item.reactive.port=0",
+        "server.tomcat.threads.max=100",
+        "logging.level.hello.itemservice=warn"
+})
+class ItemApiLoadTest {
+
+    static final int SLOW_CLIENTS = 150;
+    static final int SLOW_BYTE_INTERVAL_MS = 40;
+    static final int FAST_CLIENTS = 32;
+    static final int MEASURE_SECONDS = 10;
+    static final String PATH = "/validation/api/items/add";
+    static final byte[] BODY = "{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}".getBytes(UTF_8);
+
+    @LocalServerPort
+    int mvcPort;
+
+    @Autowired
+    ReactiveItemApiServer reactiveServer;
+
+    @Test
+    void compare() throws Exception {
+        Result mvc = run("mvc", mvcPort, "http-nio-");
+        Result reactive = run("reactive", reactiveServer.getPort(), "reactor-http-", "item-api-worker");
+
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %14s%n", "server", "requests", "p50(ms)", "p99(ms)", "max(ms)", "serverThreads");
+        mvc.print();
+        reactive.print();
+
+        assertThat(mvc.errors).isZero();
+        assertThat(reactive.errors).isZero();
+    }
+
+    private Result run(String name, int port, String... serverThreadPrefixes) throws Exception {
+        //워밍업
+        for (int i = 0; i < 200; i++) {
+            post(port, 0);
+        }
+
+        ExecutorService slowClients = Executors.newFixedThreadPool(SLOW_CLIENTS);
+        ExecutorService fastClients = Executors.newFixedThreadPool(FAST_CLIENTS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(MEASURE_SECONDS);
+        AtomicInteger errors = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < SLOW_CLIENTS; i++) {
+            slowClients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    call(port, SLOW_BYTE_INTERVAL_MS, errors);
+                }
+            });
+        }
+        //느린 업로드가 자리를 잡은 뒤 측정을 시작한다.
+        Thread.sleep(500);
+        for (int i = 0; i < FAST_CLIENTS; i++) {
+            fastClients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    if (call(port, 0, errors)) {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+            });
+        }
+
+        int peakThreads = 0;
+        while (System.nanoTime() < deadline) {
+            peakThreads = Math.max(peakThreads, countThreads(serverThreadPrefixes));
+            Thread.sleep(100);
+        }
+        fastClients.shutdown();
+        slowClients.shutdown();
+        fastClients.awaitTermination(1, TimeUnit.MINUTES);
+        slowClients.awaitTermination(1, TimeUnit.MINUTES);
+        return new Result(name, latencies, peakThreads, errors.get());
+    }
+
+    private static boolean call(int port, int byteIntervalMs, AtomicInteger errors) {
+        try {
+            int status = post(port, byteIntervalMs);
+            if (status != 200) {
+                errors.incrementAndGet();
+                return false;
+            }
+            return true;
+        } catch (IOException | InterruptedException e) {
+            errors.incrementAndGet();
+            return false;
+        }
+    }
+
+    //byteIntervalMs > 0 이면 본문을 한 바이트씩 천천히 보낸다.
+    private static int post(int port, int byteIntervalMs) throws IOException, InterruptedException {
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(60_000);
+            OutputStream out = socket.getOutputStream();
+            String head = "POST " + PATH + " HTTP/1.1\r\n" +
+                    "Host: localhost\r\n" +
+                    "Content-Type: application/json\r\n" +
+                    "Content-Length: " + BODY.length + "\r\n" +
+                    "Connection: close\r\n\r\n";
+            out.write(head.getBytes(US_ASCII));
+            if (byteIntervalMs > 0) {
+                for (byte b : BODY) {
+                    out.write(b);
+                    out.flush();
+                    Thread.sleep(byteIntervalMs);
+                }
+            } else {
+                out.write(BODY);
+                out.flush();
+            }
+
+            InputStream in = socket.getInputStream();
+            byte[] response = in.readAllBytes();
+            //"HTTP/1.1 200 ..."
+            String statusLine = new String(response, 0, Math.min(response.length, 12), US_ASCII);
+            return statusLine.length() < 12 ? -1 : Integer.parseInt(statusLine.substring(9, 12));
+        }
+    }
+
+    private static int countThreads(String... prefixes) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int count = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info == null) {
+                continue;
+            }
+            for (String prefix : prefixes) {
+                if (info.getThreadName().startsWith(prefix)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    static class Result {
+
+        final String name;
+        final List<Long> latencies;
+        final int serverThreads;
+        final int errors;
+
+        Result(String name, List<Long> latencies, int serverThreads, int errors) {
+            this.name = name;
+            this.latencies = new ArrayList<>(latencies);
+            Collections.sort(this.latencies);
+            this.serverThreads = serverThreads;
+            this.errors = errors;
+        }
+
+        void print() {
+            System.out.printf("%-10s %10d %10.1f %10.1f %10.1f %14d%n", name, latencies.size(),
+                    percentile(0.50), percentile(0.99), percentile(1.0), serverThreads);
+        }
+
+        double percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.size()) - 1;
+            return latencies.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+}
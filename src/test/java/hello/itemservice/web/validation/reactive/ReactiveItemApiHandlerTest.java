@@ -0,0 +1,124 @@
+package hello.itemservice.web.validation.reactive;
+
+import hello.itemservice.config.ValidationProperties;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.message.PrecompiledMessageSource;
+import hello.itemservice.validation.CrossFieldValidatorAdapter;
+import hello.itemservice.web.validation.error.ApiErrors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Validation;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+class ReactiveItemApiHandlerTest {
+
+    ItemRepository itemRepository = new ItemRepository();
+    Scheduler worker = Schedulers.newParallel("item-api-worker-test", 2, true);
+    PrecompiledMessageSource messageSource = new PrecompiledMessageSource(List.of("messages", "errors"), UTF_8, false, false, false);
+    WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveItemApiHandler handler = new ReactiveItemApiHandler(itemRepository,
+                new CrossFieldValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator()),
+                new DefaultMessageCodesResolver(), new ApiErrors(messageSource, new ValidationProperties()), worker, 20);
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.dispose();
+        messageSource.close();
+    }
+
+    @Test
+    void addItem() {
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itemName").isEqualTo("itemA");
+    }
+
+    @Test
+    void addItemValidationErrors() {
+        //MVC 컨트롤러와 같이 검증 오류 목록(ApiError)을 반환한다. (필드 오류, totalPriceMin 글로벌 오류)
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\" \",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("NotBlank")
+                .jsonPath("$[0].field").isEqualTo("itemName")
+                .jsonPath("$[0].message").isNotEmpty()
+                .jsonPath("$[0].objectName").doesNotExist();
+
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Accept-Language", "ko")
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":1000,\"quantity\":1}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("totalPriceMin")
+                .jsonPath("$[0].field").doesNotExist()
+                .jsonPath("$[0].message").isEqualTo("전체 가격은 10,000원 이상이어야 합니다. 현재 값 = 1,000");
+
+        //X-Error-Verbosity: code 면 메시지를 만들지 않는다.
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Error-Verbosity", "code")
+                .bodyValue("{\"itemName\":\" \",\"price\":10000,\"quantity\":10}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].code").isEqualTo("NotBlank")
+                .jsonPath("$[0].message").doesNotExist();
+    }
+
+    @Test
+    void addItemBadRequest() {
+        client.post().uri("/validation/api/items/add")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemName\":\"itemA\",\"price\":\"abc\",\"quantity\":10}")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void itemsAndExport() {
+        for (int i = 0; i < 3; i++) {
+            itemRepository.save(new Item("item" + i, 10000, 10));
+        }
+
+        client.get().uri("/validation/api/items?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(2)
+                .jsonPath("$.nextCursor").isEqualTo(2);
+
+        client.get().uri("/validation/api/items/export?fromId=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Item.class).hasSize(2);
+
+        client.get().uri("/validation/api/items?cursor=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}